@@ -7,6 +7,7 @@ import net.minecraft.nbt.ListTag;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.common.util.INBTSerializable;
 import net.minecraftforge.common.util.LazyOptional;
 
@@ -18,6 +19,20 @@ public interface IActiveWorldFields extends INBTSerializable<ListTag> {
 
     void tickFields();
 
+    /**
+     * Makes sure a field ticks on the next level tick, even if it was sleeping.
+     * @param field The field to wake.
+     */
+    default void wakeField(IMiniaturizationField field) {}
+
+    /**
+     * Queues a recipe scan for a field. Scans may be spread over several ticks when many fields ask at once.
+     * @param field The field to scan.
+     */
+    default void queueScan(IMiniaturizationField field) {
+        field.doRecipeScan();
+    }
+
     /**
      * Adds a field instance. This is typically called during world load; use this safely.
      * @param field The field to register.
@@ -34,7 +49,28 @@ public interface IActiveWorldFields extends INBTSerializable<ListTag> {
 
     boolean hasActiveField(BlockPos center);
 
+    /**
+     * Finds the active field whose crafting area contains the given position.
+     * @param pos The world position to look up.
+     * @return The field containing the position, or empty if no field covers it.
+     */
+    default Optional<IMiniaturizationField> getFieldContaining(BlockPos pos) {
+        final Vec3 center = Vec3.atCenterOf(pos);
+        return getFields()
+                .filter(field -> field.getBounds().contains(center))
+                .findFirst();
+    }
+
     Stream<IMiniaturizationField> getFields(ChunkPos chunk);
 
+    /**
+     * Notifies the fields that depend on a chunk that it loaded or unloaded.
+     * @param chunk The chunk that changed.
+     * @param loaded Whether the chunk is now loaded.
+     */
+    default void onChunkLoadChanged(ChunkPos chunk, boolean loaded) {
+        getFields().forEach(field -> field.onChunkLoadChanged(chunk, loaded));
+    }
+
     ResourceKey<Level> getLevel();
 }
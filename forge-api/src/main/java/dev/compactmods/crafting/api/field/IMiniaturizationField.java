@@ -1,6 +1,7 @@
 package dev.compactmods.crafting.api.field;
 
 import java.util.Optional;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import dev.compactmods.crafting.api.EnumCraftingState;
 import dev.compactmods.crafting.api.recipe.IMiniaturizationRecipe;
@@ -8,6 +9,8 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.AABB;
 import net.minecraftforge.common.util.INBTSerializable;
@@ -17,6 +20,24 @@ public interface IMiniaturizationField extends INBTSerializable<Tag> {
 
     default void dispose() {}
 
+    /**
+     * Called when a chunk the field depends on (see {@link #getDependentChunks()}) loads or unloads.
+     *
+     * @param chunk  The chunk that changed.
+     * @param loaded Whether the chunk is now loaded.
+     */
+    default void onChunkLoadChanged(ChunkPos chunk, boolean loaded) {}
+
+    /**
+     * Gets the chunks the field needs loaded to work, as packed chunk positions.
+     * By default, these are the chunks holding the field center and its projectors.
+     */
+    default LongStream getDependentChunks() {
+        return Stream.concat(Stream.of(getCenter()), getProjectorPositions())
+                .mapToLong(ChunkPos::asLong)
+                .distinct();
+    }
+
     AABB getBounds();
 
     MiniaturizationFieldSize getFieldSize();
@@ -44,6 +65,29 @@ public interface IMiniaturizationField extends INBTSerializable<Tag> {
     default void tick() {
     }
 
+    /**
+     * Gets how many ticks the field can sleep after a tick before it needs to tick again.
+     * Fields are also woken early when something they care about changes.
+     */
+    default int getTickDelay() {
+        return 1;
+    }
+
+    /**
+     * Matches the field contents against the known recipes.
+     */
+    default void doRecipeScan() {
+    }
+
+    /**
+     * Called when an item entity appears or moves into the field area. Fields waiting on a catalyst use
+     * this instead of searching for item entities every tick.
+     *
+     * @param item The item entity.
+     */
+    default void onItemEntityNearby(ItemEntity item) {
+    }
+
     boolean isLoaded();
 
     default void checkLoaded() {
@@ -51,6 +95,16 @@ public interface IMiniaturizationField extends INBTSerializable<Tag> {
 
     void fieldContentsChanged();
 
+    /**
+     * Called when a single block inside the field changed. Implementations that keep a model of
+     * the field contents can use the position to update only what changed.
+     *
+     * @param pos The position of the changed block.
+     */
+    default void fieldContentsChanged(BlockPos pos) {
+        fieldContentsChanged();
+    }
+
     void setLevel(Level level);
 
     void registerListener(LazyOptional<IFieldListener> listener);
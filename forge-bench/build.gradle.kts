@@ -0,0 +1,53 @@
+plugins {
+    id("idea")
+    id("eclipse")
+    id("net.minecraftforge.gradle") version ("5.1.+")
+    id("org.parchmentmc.librarian.forgegradle") version ("1.+")
+    id("me.champeau.jmh") version ("0.7.2")
+}
+
+val minecraft_version: String by extra
+val forge_version: String by extra
+val parchment_version: String by extra
+
+base {
+    group = "dev.compactmods"
+}
+
+java {
+    toolchain.languageVersion.set(JavaLanguageVersion.of(17))
+}
+
+listOf(project(":forge-api"), project(":forge-main")).forEach {
+    project.evaluationDependsOn(it.path)
+}
+
+minecraft {
+    mappings("parchment", parchment_version)
+    accessTransformer(file("../forge-main/src/main/resources/META-INF/accesstransformer.cfg"))
+}
+
+dependencies {
+    minecraft("net.minecraftforge", "forge", "${minecraft_version}-${forge_version}")
+
+    implementation(project(":forge-api"))
+    implementation(project(":forge-main"))
+}
+
+jmh {
+    jmhVersion.set("1.36")
+    profilers.add("gc")
+
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+
+    // Benchmarks reuse the recipe fixtures from the game tests
+    jvmArgsAppend.add("-Dcompactcrafting.fixtures=${project(":forge-main").file("src/test/resources").absolutePath}")
+
+    resultFormat.set("JSON")
+}
+
+tasks.withType<JavaCompile> {
+    options.encoding = "UTF-8"
+}
@@ -0,0 +1,179 @@
+package dev.compactmods.crafting.bench;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import com.electronwill.nightconfig.core.CommentedConfig;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.JsonOps;
+import dev.compactmods.crafting.api.field.MiniaturizationFieldSize;
+import dev.compactmods.crafting.api.recipe.layers.IRecipeLayer;
+import dev.compactmods.crafting.recipes.MiniaturizationRecipe;
+import dev.compactmods.crafting.recipes.blocks.ComponentPositionLookup;
+import dev.compactmods.crafting.recipes.components.BlockComponent;
+import dev.compactmods.crafting.recipes.components.EmptyBlockComponent;
+import dev.compactmods.crafting.recipes.components.MiniaturizationRecipeComponents;
+import dev.compactmods.crafting.recipes.layers.FilledComponentRecipeLayer;
+import dev.compactmods.crafting.recipes.layers.HollowComponentRecipeLayer;
+import dev.compactmods.crafting.recipes.layers.MixedComponentRecipeLayer;
+import dev.compactmods.crafting.server.ServerConfig;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.util.GsonHelper;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.AABB;
+
+/**
+ * Loads the JSON fixtures the game tests use and builds benchmark recipes and structures from them.
+ *
+ * Component and layer types are normally resolved through the mod's registries, which only exist once
+ * FML has loaded the mod; fixtures are decoded with the concrete codecs instead.
+ */
+public final class BenchFixtures {
+
+    private static boolean bootstrapped = false;
+
+    private BenchFixtures() {
+    }
+
+    public static synchronized void bootstrap() {
+        if (bootstrapped)
+            return;
+
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        // Matching reads the logging toggles; give the server config its defaults
+        final CommentedConfig config = CommentedConfig.inMemory();
+        ServerConfig.CONFIG.correct(config);
+        ServerConfig.CONFIG.acceptConfig(config);
+
+        bootstrapped = true;
+    }
+
+    public static JsonObject read(String fixture) {
+        final Path root = Path.of(System.getProperty("compactcrafting.fixtures", "../forge-main/src/test/resources"));
+        try (Reader reader = Files.newBufferedReader(root.resolve(fixture))) {
+            return JsonParser.parseReader(reader).getAsJsonObject();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read fixture " + fixture, e);
+        }
+    }
+
+    private static <T> T decode(Codec<T> codec, JsonObject json, String fixture) {
+        return codec.parse(JsonOps.INSTANCE, json)
+                .getOrThrow(false, error -> {
+                    throw new IllegalStateException("Could not decode fixture " + fixture + ": " + error);
+                });
+    }
+
+    public static MiniaturizationRecipeComponents components(String fixture) {
+        final MiniaturizationRecipeComponents components = new MiniaturizationRecipeComponents();
+        for (Map.Entry<String, JsonElement> entry : read(fixture).entrySet()) {
+            final JsonObject component = entry.getValue().getAsJsonObject();
+            final String type = GsonHelper.getAsString(component, "type");
+            switch (type) {
+                case "compactcrafting:block":
+                    components.registerBlock(entry.getKey(), decode(BlockComponent.CODEC, component, fixture));
+                    break;
+
+                case "compactcrafting:empty":
+                    components.registerBlock(entry.getKey(), new EmptyBlockComponent());
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("Unsupported component type in " + fixture + ": " + type);
+            }
+        }
+
+        return components;
+    }
+
+    public static IRecipeLayer layer(String fixture) {
+        final JsonObject json = read(fixture);
+        final String type = GsonHelper.getAsString(json, "type");
+        switch (type) {
+            case "compactcrafting:filled":
+                return decode(FilledComponentRecipeLayer.CODEC, json, fixture);
+
+            case "compactcrafting:hollow":
+                return decode(HollowComponentRecipeLayer.CODEC, json, fixture);
+
+            case "compactcrafting:mixed":
+                return decode(MixedComponentRecipeLayer.CODEC, json, fixture);
+
+            default:
+                throw new IllegalArgumentException("Unsupported layer type in " + fixture + ": " + type);
+        }
+    }
+
+    /**
+     * A glass shell filling the whole field with an obsidian block in the center, the same shape as the
+     * ender crystal test recipe. Uses the medium mixed layer fixture as-is and generates the same ring
+     * for other sizes.
+     */
+    public static MiniaturizationRecipe recipe(MiniaturizationFieldSize size) {
+        final int dim = size.getDimensions();
+        final int center = dim / 2;
+
+        final List<IRecipeLayer> layers = new ArrayList<>(dim);
+        for (int y = 0; y < dim; y++) {
+            if (y == 0 || y == dim - 1)
+                layers.add(layer("layers/filled/basic.json"));
+            else if (y == center)
+                layers.add(size == MiniaturizationFieldSize.MEDIUM ?
+                        layer("layers/mixed/medium_glass_walls_obsidian_center.json") :
+                        centerLayer(dim));
+            else
+                layers.add(new HollowComponentRecipeLayer("G"));
+        }
+
+        return new MiniaturizationRecipe(200, dim, layers, components("components/glass_and_obsidian.json"), List.of(), null);
+    }
+
+    private static MixedComponentRecipeLayer centerLayer(int dim) {
+        final ComponentPositionLookup lookup = new ComponentPositionLookup();
+        final int center = dim / 2;
+        for (int x = 0; x < dim; x++) {
+            for (int z = 0; z < dim; z++) {
+                if (x == 0 || z == 0 || x == dim - 1 || z == dim - 1)
+                    lookup.add(new BlockPos(x, 0, z), "G");
+                else if (x == center && z == center)
+                    lookup.add(new BlockPos(x, 0, z), "O");
+            }
+        }
+
+        return new MixedComponentRecipeLayer(lookup);
+    }
+
+    /**
+     * Builds the structure for {@link #recipe} inside the given field bounds.
+     */
+    public static InMemoryBlockGetter structure(MiniaturizationRecipe recipe, AABB fieldBounds) {
+        final InMemoryBlockGetter level = new InMemoryBlockGetter();
+        final BlockPos min = new BlockPos(fieldBounds.minX, fieldBounds.minY, fieldBounds.minZ);
+
+        for (int y = 0; y < recipe.getNumberLayers(); y++) {
+            final IRecipeLayer layer = recipe.getLayer(y).orElseThrow();
+            for (String component : layer.getComponents()) {
+                final BlockState state = recipe.getComponents().getBlock(component)
+                        .map(c -> c.getBlock().defaultBlockState())
+                        .orElseThrow();
+
+                final int layerY = y;
+                layer.getPositionsForComponent(component)
+                        .forEach(pos -> level.setBlock(min.offset(pos.getX(), layerY, pos.getZ()), state));
+            }
+        }
+
+        return level;
+    }
+}
@@ -0,0 +1,51 @@
+package dev.compactmods.crafting.bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import dev.compactmods.crafting.api.field.MiniaturizationFieldSize;
+import dev.compactmods.crafting.util.BlockSpaceUtil;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.Rotation;
+import net.minecraft.world.phys.AABB;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockSpaceBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE", "ABSURD"})
+    public MiniaturizationFieldSize size;
+
+    private AABB layerBounds;
+    private BlockPos[] layerPositions;
+
+    @Setup
+    public void setup() {
+        BenchFixtures.bootstrap();
+
+        this.layerBounds = BlockSpaceUtil.getLayerBounds(size, 0);
+        this.layerPositions = BlockSpaceUtil.getBlocksIn(layerBounds)
+                .map(BlockPos::immutable)
+                .toArray(BlockPos[]::new);
+    }
+
+    @Benchmark
+    public Map<BlockPos, BlockPos> rotatePositionsInPlace() {
+        return BlockSpaceUtil.rotatePositionsInPlace(layerPositions, Rotation.CLOCKWISE_90);
+    }
+
+    @Benchmark
+    public BlockPos[] getWallPositions() {
+        return BlockSpaceUtil.getWallPositions(layerBounds)
+                .map(BlockPos::immutable)
+                .toArray(BlockPos[]::new);
+    }
+}
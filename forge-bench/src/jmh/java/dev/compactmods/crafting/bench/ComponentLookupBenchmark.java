@@ -0,0 +1,46 @@
+package dev.compactmods.crafting.bench;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import dev.compactmods.crafting.recipes.components.MiniaturizationRecipeComponents;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Block state to component key lookups, for a state the recipe uses and one it doesn't.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ComponentLookupBenchmark {
+
+    private MiniaturizationRecipeComponents components;
+    private BlockState known;
+    private BlockState unknown;
+
+    @Setup
+    public void setup() {
+        BenchFixtures.bootstrap();
+
+        this.components = BenchFixtures.components("components/glass_and_obsidian.json");
+        this.known = Blocks.OBSIDIAN.defaultBlockState();
+        this.unknown = Blocks.STONE.defaultBlockState();
+    }
+
+    @Benchmark
+    public Optional<String> getKeyKnown() {
+        return components.getKey(known);
+    }
+
+    @Benchmark
+    public Optional<String> getKeyUnknown() {
+        return components.getKey(unknown);
+    }
+}
@@ -0,0 +1,71 @@
+package dev.compactmods.crafting.bench;
+
+import java.util.concurrent.TimeUnit;
+import dev.compactmods.crafting.api.field.MiniaturizationFieldSize;
+import dev.compactmods.crafting.field.MiniaturizationField;
+import dev.compactmods.crafting.network.FieldSyncData;
+import io.netty.buffer.Unpooled;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.item.crafting.RecipeManager;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Field sync encoding: the binary layout used by the field packets against the client data NBT
+ * they used to carry. The returned value and the bytes counter give the encoded size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FieldPacketBenchmark {
+
+    private MiniaturizationField field;
+    private RecipeManager recipes;
+    private FriendlyByteBuf buf;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        BenchFixtures.bootstrap();
+
+        this.field = MiniaturizationField.fromSizeAndCenter(MiniaturizationFieldSize.ABSURD, new BlockPos(-1234, 70, 5678));
+        this.recipes = new RecipeManager();
+        this.buf = new FriendlyByteBuf(Unpooled.buffer(256));
+    }
+
+    @Benchmark
+    public int binary(EncodedSize size) {
+        buf.clear();
+        FieldSyncData.of(field, recipes).write(buf);
+
+        size.bytes += buf.readableBytes();
+        return buf.readableBytes();
+    }
+
+    @Benchmark
+    public int nbt(EncodedSize size) {
+        buf.clear();
+        buf.writeNbt(field.clientData());
+
+        size.bytes += buf.readableBytes();
+        return buf.readableBytes();
+    }
+}
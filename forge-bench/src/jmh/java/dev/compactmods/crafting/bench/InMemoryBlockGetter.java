@@ -0,0 +1,57 @@
+package dev.compactmods.crafting.bench;
+
+import javax.annotation.Nullable;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.material.FluidState;
+
+/**
+ * Stand-in for a level that only holds block states; anything not set is air.
+ */
+public class InMemoryBlockGetter implements BlockGetter {
+
+    private static final BlockState AIR = Blocks.AIR.defaultBlockState();
+
+    private final Long2ObjectOpenHashMap<BlockState> states = new Long2ObjectOpenHashMap<>();
+
+    public InMemoryBlockGetter() {
+        states.defaultReturnValue(AIR);
+    }
+
+    public void setBlock(BlockPos pos, BlockState state) {
+        if (state.isAir())
+            states.remove(pos.asLong());
+        else
+            states.put(pos.asLong(), state);
+    }
+
+    @Nullable
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        return states.get(pos.asLong());
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public int getHeight() {
+        return 384;
+    }
+
+    @Override
+    public int getMinBuildHeight() {
+        return -64;
+    }
+}
@@ -0,0 +1,78 @@
+package dev.compactmods.crafting.bench;
+
+import java.util.concurrent.TimeUnit;
+import dev.compactmods.crafting.api.field.MiniaturizationFieldSize;
+import dev.compactmods.crafting.api.recipe.layers.IRecipeBlocks;
+import dev.compactmods.crafting.field.FieldSnapshot;
+import dev.compactmods.crafting.recipes.MiniaturizationRecipe;
+import dev.compactmods.crafting.recipes.blocks.RecipeBlocks;
+import dev.compactmods.crafting.recipes.blocks.VoxelRecipeBlocks;
+import dev.compactmods.crafting.recipes.layers.RecipeLayerUtil;
+import dev.compactmods.crafting.util.BlockSpaceUtil;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.Rotation;
+import net.minecraft.world.phys.AABB;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Full recipe matching against a field holding the recipe's own structure, plus the pieces it is built from.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecipeMatchingBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE", "ABSURD"})
+    public MiniaturizationFieldSize size;
+
+    private MiniaturizationRecipe recipe;
+    private InMemoryBlockGetter level;
+    private AABB fieldBounds;
+    private IRecipeBlocks centerLayer;
+
+    @Setup
+    public void setup() {
+        BenchFixtures.bootstrap();
+
+        this.recipe = BenchFixtures.recipe(size);
+        this.fieldBounds = size.getBoundsAtPosition(new BlockPos(0, 64, 0));
+        this.level = BenchFixtures.structure(recipe, fieldBounds);
+
+        this.centerLayer = RecipeBlocks.create(level, recipe.getComponents(), fieldBounds)
+                .slice(BlockSpaceUtil.getLayerBounds(fieldBounds, size.getDimensions() / 2))
+                .normalize();
+
+        if (!matchRecipeBlocks() || !matchSnapshot())
+            throw new IllegalStateException("Benchmark structure does not match its recipe at size " + size);
+    }
+
+    @Benchmark
+    public boolean matchRecipeBlocks() {
+        return recipe.matches(RecipeBlocks.create(level, recipe.getComponents(), fieldBounds));
+    }
+
+    @Benchmark
+    public boolean matchSnapshot() {
+        final FieldSnapshot snapshot = FieldSnapshot.capture(level, fieldBounds);
+        return recipe.matches(VoxelRecipeBlocks.create(snapshot, recipe.getComponents(), snapshot.getFilledBounds()));
+    }
+
+    @Benchmark
+    public RecipeBlocks createRecipeBlocks() {
+        return RecipeBlocks.create(level, recipe.getComponents(), fieldBounds);
+    }
+
+    @Benchmark
+    public void rotateLayer(Blackhole bh) {
+        for (Rotation rotation : Rotation.values())
+            bh.consume(RecipeLayerUtil.rotate(centerLayer, rotation));
+    }
+}
@@ -1,6 +1,7 @@
 package dev.compactmods.crafting.client;
 
 import dev.compactmods.crafting.CompactCrafting;
+import dev.compactmods.crafting.recipes.RecipeNetworkCache;
 import net.minecraft.client.Minecraft;
 import net.minecraft.network.chat.Component;
 import net.minecraft.util.FastColor;
@@ -20,6 +21,7 @@ public class ClientConfig {
     private static ForgeConfigSpec.IntValue PLACEMENT_TIME;
 
     public static ForgeConfigSpec.BooleanValue ENABLE_DEBUG_ON_F3;
+    private static ForgeConfigSpec.BooleanValue RECIPE_CACHE;
 
     public static int projectorColor = FastColor.ARGB32.color(255, 255, 106, 0);
     public static int projectorOffColor = FastColor.ARGB32.color(255, 137, 137, 137);
@@ -61,9 +63,26 @@ public class ClientConfig {
 
         builder.pop();
 
+        builder
+                .comment("Recipe Settings")
+                .push("recipes");
+
+        RECIPE_CACHE = builder
+                .comment("Whether to keep recipes received from a server and reuse them when it resends them unchanged.")
+                .define("recipeCache", true);
+
+        builder.pop();
+
         CONFIG = builder.build();
     }
 
+    @SubscribeEvent
+    public static void onLoading(final ModConfigEvent.Loading configEvent) {
+        final var c = configEvent.getConfig();
+        if(c.getModId().equals(CompactCrafting.MOD_ID) && c.getType().equals(ModConfig.Type.CLIENT))
+            RecipeNetworkCache.setEnabled(RECIPE_CACHE.get());
+    }
+
     @SubscribeEvent
     public static void onLoad(final ModConfigEvent.Reloading configEvent) {
         final var c = configEvent.getConfig();
@@ -71,6 +90,7 @@ public class ClientConfig {
             projectorColor = extractHexColor(PROJECTOR_COLOR.get(), 0x00FF6A00);
             projectorOffColor = extractHexColor(PROJECTOR_OFF_COLOR.get(), 0x00898989);
             placementTime = PLACEMENT_TIME.get();
+            RecipeNetworkCache.setEnabled(RECIPE_CACHE.get());
         }
     }
 
@@ -5,15 +5,15 @@ import javax.annotation.Nonnull;
 import com.mojang.blaze3d.vertex.PoseStack;
 import dev.compactmods.crafting.CompactCrafting;
 import dev.compactmods.crafting.api.EnumCraftingState;
-import dev.compactmods.crafting.api.field.IActiveWorldFields;
 import dev.compactmods.crafting.api.field.IMiniaturizationField;
 import dev.compactmods.crafting.api.projector.IProjectorRenderInfo;
 import dev.compactmods.crafting.api.recipe.IMiniaturizationRecipe;
 import dev.compactmods.crafting.core.CCCapabilities;
 import dev.compactmods.crafting.field.render.CraftingPreviewRenderer;
+import dev.compactmods.crafting.recipes.MiniaturizationRecipeIndex;
+import dev.compactmods.crafting.recipes.RecipeNetworkCache;
 import net.minecraft.client.Camera;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.client.renderer.LightTexture;
 import net.minecraft.client.renderer.MultiBufferSource;
@@ -22,6 +22,8 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.world.phys.HitResult;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.client.event.RecipesUpdatedEvent;
 import net.minecraftforge.client.event.RenderLevelLastEvent;
 import net.minecraftforge.client.event.RenderLevelStageEvent;
 import net.minecraftforge.event.TickEvent;
@@ -40,12 +42,17 @@ public class ClientEventHandler {
             player.getCapability(CCCapabilities.TEMP_PROJECTOR_RENDERING)
                     .ifPresent(IProjectorRenderInfo::tick);
         }
+    }
 
-        ClientLevel level = Minecraft.getInstance().level;
-        if (level != null && !Minecraft.getInstance().isPaused()) {
-            level.getCapability(CCCapabilities.FIELDS)
-                    .ifPresent(IActiveWorldFields::tickFields);
-        }
+    @SubscribeEvent
+    public static void onRecipesUpdated(final RecipesUpdatedEvent evt) {
+        MiniaturizationRecipeIndex.invalidate();
+    }
+
+    @SubscribeEvent
+    public static void onLoggingOut(final ClientPlayerNetworkEvent.LoggingOut evt) {
+        // Cached recipes hold registry ids from the server we're leaving
+        RecipeNetworkCache.clear();
     }
 
     @SubscribeEvent
@@ -4,29 +4,34 @@ import javax.annotation.Nullable;
 import java.util.Objects;
 import java.util.stream.Stream;
 import dev.compactmods.crafting.CompactCrafting;
+import dev.compactmods.crafting.api.EnumCraftingState;
 import dev.compactmods.crafting.api.field.IMiniaturizationField;
 import dev.compactmods.crafting.core.CCCapabilities;
 import dev.compactmods.crafting.field.MiniaturizationField;
+import dev.compactmods.crafting.network.FieldSyncData;
 import dev.compactmods.crafting.projector.FieldProjectorBlock;
 import dev.compactmods.crafting.projector.FieldProjectorEntity;
+import dev.compactmods.crafting.recipes.MiniaturizationRecipeIndex;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.core.BlockPos;
-import net.minecraft.nbt.CompoundTag;
+import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.block.state.BlockState;
 
 public abstract class ClientPacketHandler {
 
-    public static void handleFieldActivation(IMiniaturizationField field, CompoundTag fieldClientData) {
+    public static void handleFieldActivation(FieldSyncData data) {
         Minecraft mc = Minecraft.getInstance();
         mc.submitAsync(() -> {
             ClientLevel cw = mc.level;
             if (cw == null)
                 return;
 
+            MiniaturizationField field = new MiniaturizationField();
             field.setLevel(cw);
-            field.loadClientData(fieldClientData);
+            data.applyTo(field, cw.getRecipeManager());
 
             mc.level.getCapability(CCCapabilities.FIELDS)
                     .ifPresent(fields -> fields.registerField(field));
@@ -47,14 +52,14 @@ public abstract class ClientPacketHandler {
         });
     }
 
-    public static void handleFieldData(CompoundTag fieldData) {
+    public static void handleFieldData(FieldSyncData data) {
         Minecraft mc = Minecraft.getInstance();
         if (mc.level == null)
             return;
 
         MiniaturizationField field = new MiniaturizationField();
         field.setLevel(mc.level);
-        field.loadClientData(fieldData);
+        data.applyTo(field, mc.level.getRecipeManager());
 
         mc.level.getCapability(CCCapabilities.FIELDS)
                 .ifPresent(fields -> {
@@ -84,11 +89,43 @@ public abstract class ClientPacketHandler {
                 .ifPresent(fields -> fields.unregisterField(fieldCenter));
     }
 
-    public static void handleRecipeChanged(BlockPos center, @Nullable ResourceLocation recipe) {
+    /**
+     * Plays the smoke puff for a block a field removed when crafting started.
+     */
+    public static void handleBlockCleared(BlockPos pos) {
         Minecraft mc = Minecraft.getInstance();
         if (mc.level == null)
             return;
 
+        // Same spread the server used to send as a particle packet per block
+        final RandomSource random = mc.level.getRandom();
+        mc.level.addParticle(ParticleTypes.LARGE_SMOKE,
+                pos.getX() + 0.5d, pos.getY() + 0.5d + (random.nextGaussian() * 0.05d), pos.getZ() + 0.5d,
+                random.nextGaussian() * 0.25d, random.nextGaussian() * 0.25d, random.nextGaussian() * 0.25d);
+    }
+
+    public static void handleCraftingStarted(BlockPos center, long startTime, int craftingTime) {
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.level == null)
+            return;
+
+        mc.level.getCapability(CCCapabilities.FIELDS)
+                .lazyMap(af -> af.get(center))
+                .ifPresent(field -> field.ifPresent(f -> {
+                    if (f instanceof MiniaturizationField mf)
+                        mf.startCrafting(startTime, craftingTime);
+                    else
+                        f.setCraftingState(EnumCraftingState.CRAFTING);
+                }));
+    }
+
+    public static void handleRecipeChanged(BlockPos center, int recipeNetworkId) {
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.level == null)
+            return;
+
+        @Nullable final ResourceLocation recipe = MiniaturizationRecipeIndex.get(mc.level.getRecipeManager()).byNetworkId(recipeNetworkId);
+
         mc.level.getCapability(CCCapabilities.FIELDS)
                 .lazyMap(af -> af.get(center))
                 .ifPresent(field -> field.ifPresent(f -> f.setRecipe(recipe)));
@@ -6,6 +6,10 @@ import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import dev.compactmods.crafting.CompactCrafting;
 import dev.compactmods.crafting.api.field.IMiniaturizationField;
 import dev.compactmods.crafting.core.CCCapabilities;
+import dev.compactmods.crafting.field.ActiveWorldFields;
+import dev.compactmods.crafting.field.FieldChangePublisher;
+import dev.compactmods.crafting.field.MiniaturizationField;
+import dev.compactmods.crafting.field.RecipeMatchCache;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.commands.arguments.coordinates.BlockPosArgument;
@@ -42,6 +46,9 @@ public class FieldInfoCommand {
             }
 
             fields.get(pos).ifPresent(field -> outputStdFieldInfo(src, field));
+
+            if (fields instanceof ActiveWorldFields awf)
+                src.sendSuccess(Component.literal("Queued Scans (dimension): " + awf.getQueuedScans()), false);
         });
 
         return 0;
@@ -73,5 +80,14 @@ public class FieldInfoCommand {
         field.getCurrentRecipe().ifPresent(rec -> {
             src.sendSuccess(Component.literal("Recipe: " + rec.getRecipeIdentifier()), false);
         });
+
+        if (field instanceof MiniaturizationField mf) {
+            final RecipeMatchCache cache = mf.getMatchCache();
+            src.sendSuccess(Component.literal("Match Cache: " + cache.getHits() + " hits, " + cache.getMisses() + " misses, " + cache.size() + " entries"), false);
+
+            final FieldChangePublisher changes = mf.getChangePublisher();
+            src.sendSuccess(Component.literal("Recipe Events: " + changes.getListenerEvents() + " sent, " + changes.getListenerSuppressed() + " suppressed"), false);
+            src.sendSuccess(Component.literal("Recipe Packets: " + changes.getPacketsSent() + " sent, " + changes.getPacketsSuppressed() + " suppressed"), false);
+        }
     }
 }
@@ -51,6 +51,16 @@ public class BlockEventHandler {
         blockHandler(blockDestroyed);
     }
 
+    /**
+     * Fired for any block change that updates its neighbors, which covers what the place and break events
+     * miss: pistons, fluids, explosions, /setblock and other mods' setBlock calls.
+     */
+    @SubscribeEvent
+    static void onNeighborNotify(final BlockEvent.NeighborNotifyEvent event) {
+        if (event.getLevel() instanceof Level level && !level.isClientSide)
+            FieldHelper.notifyBlockChanged(level, event.getPos());
+    }
+
     private static void blockHandler(final BlockEvent event) {
         // Check if block is in or around a projector field
         LevelAccessor world = event.getLevel();
@@ -3,32 +3,33 @@ package dev.compactmods.crafting.events;
 import dev.compactmods.crafting.CompactCrafting;
 import dev.compactmods.crafting.api.field.IActiveWorldFields;
 import dev.compactmods.crafting.core.CCCapabilities;
-import dev.compactmods.crafting.network.ClientFieldUnwatchPacket;
-import dev.compactmods.crafting.network.ClientFieldWatchPacket;
-import dev.compactmods.crafting.network.NetworkHandler;
-import io.reactivex.rxjava3.subjects.PublishSubject;
-import io.reactivex.rxjava3.subjects.Subject;
+import dev.compactmods.crafting.field.AsyncRecipeMatcher;
+import dev.compactmods.crafting.network.FieldWatchQueue;
+import dev.compactmods.crafting.recipes.MiniaturizationRecipeIndex;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
+import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraftforge.event.AddReloadListenerEvent;
 import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
 import net.minecraftforge.event.level.ChunkEvent;
 import net.minecraftforge.event.level.ChunkWatchEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
-import net.minecraftforge.network.PacketDistributor;
+import net.minecraftforge.server.ServerLifecycleHooks;
 
 @SuppressWarnings("unused")
 @Mod.EventBusSubscriber(modid = CompactCrafting.MOD_ID)
 public class WorldEventHandler {
 
-    public static final Subject<ChunkEvent> CHUNK_CHANGES;
-
-    static {
-        CHUNK_CHANGES = PublishSubject.create();
-    }
-
     @SubscribeEvent
     public static void onServerStarted(final ServerStartedEvent evt) {
         CompactCrafting.LOGGER.trace("Server started; calling previously active fields to validate themselves.");
@@ -45,59 +46,90 @@ public class WorldEventHandler {
         }
     }
 
+    @SubscribeEvent
+    public static void onServerStopped(final ServerStoppedEvent evt) {
+        AsyncRecipeMatcher.shutdown();
+        FieldWatchQueue.clear();
+    }
+
     @SubscribeEvent
     public static void onWorldTick(final TickEvent.LevelTickEvent evt) {
-        if (evt.phase != TickEvent.Phase.START) return;
+        // Client fields don't tick; crafting progress there follows the server's start time
+        if (evt.phase != TickEvent.Phase.START || evt.level.isClientSide) return;
 
         evt.level.getCapability(CCCapabilities.FIELDS)
                 .ifPresent(IActiveWorldFields::tickFields);
     }
 
+    @SubscribeEvent
+    public static void onServerTick(final TickEvent.ServerTickEvent evt) {
+        if (evt.phase != TickEvent.Phase.END) return;
+
+        FieldWatchQueue.flush(ServerLifecycleHooks.getCurrentServer());
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(final PlayerEvent.PlayerLoggedOutEvent evt) {
+        FieldWatchQueue.discard(evt.getEntity().getUUID());
+    }
+
+    @SubscribeEvent
+    public static void onEntityJoinLevel(final EntityJoinLevelEvent evt) {
+        if (evt.getEntity() instanceof ItemEntity item)
+            notifyItemNearby(evt.getLevel(), item);
+    }
+
+    @SubscribeEvent
+    public static void onEntityEnteringSection(final EntityEvent.EnteringSection evt) {
+        if (evt.getEntity() instanceof ItemEntity item)
+            notifyItemNearby(item.level, item);
+    }
+
+    /**
+     * Tells the field an item entity is in (if any) about it; it may be the catalyst a matched field is waiting for.
+     */
+    private static void notifyItemNearby(Level level, ItemEntity item) {
+        level.getCapability(CCCapabilities.FIELDS).ifPresent(fields -> fields
+                .getFieldContaining(item.blockPosition())
+                .ifPresent(field -> field.onItemEntityNearby(item)));
+    }
+
     @SubscribeEvent
     public static void onStartChunkTracking(final ChunkWatchEvent.Watch event) {
         final ServerPlayer player = event.getPlayer();
         final ChunkPos pos = event.getPos();
-        final ServerLevel level = event.getLevel();
 
-        level.getCapability(CCCapabilities.FIELDS)
+        event.getLevel().getCapability(CCCapabilities.FIELDS)
                 .map(f -> f.getFields(pos))
-                .ifPresent(activeFields -> {
-                    activeFields.forEach(field -> {
-                        ClientFieldWatchPacket pkt = new ClientFieldWatchPacket(field);
-
-                        NetworkHandler.MAIN_CHANNEL.send(
-                                PacketDistributor.PLAYER.with(() -> player),
-                                pkt
-                        );
-                    });
-                });
+                .ifPresent(activeFields -> activeFields.forEach(field -> FieldWatchQueue.queueWatch(player, field)));
     }
 
     @SubscribeEvent
     public static void onStopChunkTracking(final ChunkWatchEvent.UnWatch event) {
         final ServerPlayer player = event.getPlayer();
         final ChunkPos pos = event.getPos();
-        final ServerLevel level = event.getLevel();
 
-        level.getCapability(CCCapabilities.FIELDS)
+        event.getLevel().getCapability(CCCapabilities.FIELDS)
                 .map(f -> f.getFields(pos))
-                .ifPresent(activeFields -> {
-                    activeFields.forEach(field -> {
-                        ClientFieldUnwatchPacket pkt = new ClientFieldUnwatchPacket(field.getCenter());
-
-                        NetworkHandler.MAIN_CHANNEL.send(
-                                PacketDistributor.PLAYER.with(() -> player),
-                                pkt
-                        );
-                    });
-                });
+                .ifPresent(activeFields -> activeFields.forEach(field -> FieldWatchQueue.queueUnwatch(player, field.getCenter())));
+    }
+
+    @SubscribeEvent
+    public static void onAddReloadListeners(final AddReloadListenerEvent evt) {
+        // Recipe index is rebuilt lazily against the reloaded recipe set
+        evt.addListener((ResourceManagerReloadListener) resources -> MiniaturizationRecipeIndex.invalidate());
     }
 
     @SubscribeEvent
     public static void onChunkLoadStatusChanged(final ChunkEvent cEvent) {
-        if (cEvent instanceof ChunkEvent.Load || cEvent instanceof ChunkEvent.Unload) {
-            // CompactCrafting.LOGGER.debug("Chunk load status changed: {}", cEvent.getChunk().getPos());
-            CHUNK_CHANGES.onNext(cEvent);
-        }
+        if (!(cEvent instanceof ChunkEvent.Load) && !(cEvent instanceof ChunkEvent.Unload))
+            return;
+
+        // Only full chunks; proto chunks loading during generation don't hold projectors yet
+        if (!(cEvent.getChunk() instanceof LevelChunk chunk))
+            return;
+
+        chunk.getLevel().getCapability(CCCapabilities.FIELDS)
+                .ifPresent(fields -> fields.onChunkLoadChanged(chunk.getPos(), cEvent instanceof ChunkEvent.Load));
     }
 }
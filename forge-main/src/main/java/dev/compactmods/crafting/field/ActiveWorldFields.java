@@ -1,10 +1,10 @@
 package dev.compactmods.crafting.field;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import dev.compactmods.crafting.CompactCrafting;
 import dev.compactmods.crafting.api.field.IActiveWorldFields;
@@ -15,6 +15,8 @@ import dev.compactmods.crafting.network.NetworkHandler;
 import dev.compactmods.crafting.projector.FieldProjectorBlock;
 import dev.compactmods.crafting.projector.FieldProjectorEntity;
 import dev.compactmods.crafting.projector.ProjectorHelper;
+import dev.compactmods.crafting.server.ServerConfig;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
@@ -37,9 +39,44 @@ public class ActiveWorldFields implements IActiveWorldFields, INBTSerializable<L
     private final HashMap<BlockPos, IMiniaturizationField> fields;
     private final HashMap<BlockPos, LazyOptional<IMiniaturizationField>> laziness;
 
+    /**
+     * Chunk section lookup for fields, used to resolve block changes to the field they affect.
+     */
+    private final FieldSectionIndex sectionIndex;
+
+    /**
+     * Fields keyed by the chunk their center is in, used when players start or stop watching a chunk.
+     */
+    private final Long2ObjectOpenHashMap<List<IMiniaturizationField>> chunkFields;
+
+    private final FieldChunkDispatcher chunkDispatcher;
+
+    /**
+     * Decides which fields tick each level tick; idle fields sleep until woken.
+     */
+    private final FieldScheduler scheduler;
+
+    /**
+     * Fields waiting on a recipe scan; drained within a per-tick budget.
+     */
+    private final FieldScanQueue scanQueue;
+
+    /**
+     * Created once; a capturing lambda built in tickFields would allocate every tick.
+     */
+    private final Consumer<IMiniaturizationField> tickAction;
+    private final Consumer<IMiniaturizationField> scanAction;
+
     public ActiveWorldFields() {
         this.fields = new HashMap<>();
         this.laziness = new HashMap<>();
+        this.sectionIndex = new FieldSectionIndex();
+        this.chunkFields = new Long2ObjectOpenHashMap<>();
+        this.chunkDispatcher = new FieldChunkDispatcher();
+        this.scheduler = new FieldScheduler();
+        this.scanQueue = new FieldScanQueue();
+        this.tickAction = this::tickField;
+        this.scanAction = this::scanField;
     }
 
     public ActiveWorldFields(Level level) {
@@ -59,15 +96,56 @@ public class ActiveWorldFields implements IActiveWorldFields, INBTSerializable<L
     }
 
     public void tickFields() {
-        Set<IMiniaturizationField> loaded = fields.values().stream()
-                .filter(IMiniaturizationField::isLoaded)
-                .collect(Collectors.toSet());
+        scheduler.advance(level.getGameTime(), tickAction);
+
+        if (scanQueue.size() > 0) {
+            final long budget = ServerConfig.SCAN_BUDGET_MICROS.get() * 1000L;
+            scanQueue.run(level.players(), budget, ServerConfig.MAX_SCANS_PER_TICK.get(), scanAction);
+        }
+    }
+
+    private void tickField(IMiniaturizationField field) {
+        if (field.isLoaded())
+            field.tick();
+
+        // The field may have unregistered itself while ticking
+        if (fields.get(field.getCenter()) == field)
+            scheduler.schedule(field, level.getGameTime() + Math.max(1, field.getTickDelay()));
+    }
+
+    private void scanField(IMiniaturizationField field) {
+        field.doRecipeScan();
+
+        // Scan results (or a background scan to collect) are handled by the field's own tick
+        scheduler.wake(field);
+    }
 
-        if (loaded.isEmpty())
+    @Override
+    public void queueScan(IMiniaturizationField field) {
+        if (!isTicked() || fields.get(field.getCenter()) != field) {
+            field.doRecipeScan();
             return;
+        }
+
+        scanQueue.offer(field);
+    }
 
-        CompactCrafting.LOGGER.trace("Loaded count ({}): {}", level.dimension().location(), loaded.size());
-        loaded.forEach(IMiniaturizationField::tick);
+    public int getQueuedScans() {
+        return scanQueue.size();
+    }
+
+    @Override
+    public void wakeField(IMiniaturizationField field) {
+        if (isTicked() && fields.get(field.getCenter()) == field)
+            scheduler.wake(field);
+    }
+
+    /**
+     * Client levels never tick their fields, so nothing may go on the scheduler or scan queue there;
+     * only {@link FieldScheduler#advance} clears wheel slots, and it never runs on the client.
+     */
+    private boolean isTicked() {
+        return level != null && !level.isClientSide;
     }
 
     @Override
@@ -75,7 +153,20 @@ public class ActiveWorldFields implements IActiveWorldFields, INBTSerializable<L
         field.setLevel(level);
 
         BlockPos center = field.getCenter();
-        fields.put(center, field);
+        final IMiniaturizationField replaced = fields.put(center, field);
+        if (replaced != null) {
+            sectionIndex.remove(replaced);
+            removeFromChunk(center, replaced);
+            chunkDispatcher.unwatch(replaced);
+            scheduler.remove(replaced);
+            scanQueue.remove(replaced);
+        }
+
+        sectionIndex.add(field);
+        chunkDispatcher.watch(field);
+        if (isTicked())
+            scheduler.wake(field);
+        chunkFields.computeIfAbsent(ChunkPos.asLong(center), k -> new ArrayList<>(1)).add(field);
 
         LazyOptional<IMiniaturizationField> lazy = LazyOptional.of(() -> field);
         laziness.put(center, lazy);
@@ -116,6 +207,14 @@ public class ActiveWorldFields implements IActiveWorldFields, INBTSerializable<L
     public void unregisterField(BlockPos center) {
         if (fields.containsKey(center)) {
             IMiniaturizationField removedField = fields.remove(center);
+            if (removedField != null) {
+                sectionIndex.remove(removedField);
+                removeFromChunk(center, removedField);
+                chunkDispatcher.unwatch(removedField);
+                scheduler.remove(removedField);
+                scanQueue.remove(removedField);
+            }
+
             final LazyOptional<IMiniaturizationField> removed = laziness.remove(center);
             removed.invalidate();
 
@@ -128,6 +227,17 @@ public class ActiveWorldFields implements IActiveWorldFields, INBTSerializable<L
         }
     }
 
+    private void removeFromChunk(BlockPos center, IMiniaturizationField field) {
+        final long key = ChunkPos.asLong(center);
+        final List<IMiniaturizationField> inChunk = chunkFields.get(key);
+        if (inChunk == null)
+            return;
+
+        inChunk.remove(field);
+        if (inChunk.isEmpty())
+            chunkFields.remove(key);
+    }
+
     public void unregisterField(IMiniaturizationField field) {
         BlockPos center = field.getCenter();
         unregisterField(center);
@@ -142,6 +252,11 @@ public class ActiveWorldFields implements IActiveWorldFields, INBTSerializable<L
         return Optional.ofNullable(fields.getOrDefault(center, null));
     }
 
+    @Override
+    public Optional<IMiniaturizationField> getFieldContaining(BlockPos pos) {
+        return Optional.ofNullable(sectionIndex.getFieldContaining(pos));
+    }
+
     @Override
     public boolean hasActiveField(BlockPos center) {
         return fields.containsKey(center);
@@ -149,10 +264,13 @@ public class ActiveWorldFields implements IActiveWorldFields, INBTSerializable<L
 
     @Override
     public Stream<IMiniaturizationField> getFields(ChunkPos chunk) {
-        return fields.entrySet()
-                .stream()
-                .filter(p -> new ChunkPos(p.getKey()).equals(chunk))
-                .map(Map.Entry::getValue);
+        final List<IMiniaturizationField> inChunk = chunkFields.get(chunk.toLong());
+        return inChunk == null ? Stream.empty() : inChunk.stream();
+    }
+
+    @Override
+    public void onChunkLoadChanged(ChunkPos chunk, boolean loaded) {
+        chunkDispatcher.dispatch(chunk, loaded);
     }
 
     @Override
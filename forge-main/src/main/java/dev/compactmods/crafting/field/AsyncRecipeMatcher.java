@@ -0,0 +1,86 @@
+package dev.compactmods.crafting.field;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import dev.compactmods.crafting.CompactCrafting;
+import dev.compactmods.crafting.server.ServerConfig;
+
+/**
+ * Bounded worker pool that field recipe scans are handed to when async matching is enabled.
+ * Tasks only ever see immutable data (field snapshots and loaded recipes); applying a result
+ * back to the field happens on the server thread.
+ */
+public final class AsyncRecipeMatcher {
+
+    /**
+     * Queued scans per worker before new scans fall back to running on the calling thread.
+     */
+    private static final int QUEUE_PER_WORKER = 16;
+
+    private static final AtomicInteger THREAD_ID = new AtomicInteger();
+
+    @Nullable
+    private static ThreadPoolExecutor pool;
+
+    private AsyncRecipeMatcher() {
+    }
+
+    public static boolean isEnabled() {
+        return ServerConfig.ASYNC_MATCHING.get();
+    }
+
+    /**
+     * Queues a task on the matching pool.
+     *
+     * @return The pending result, or null if the pool is saturated and the caller should run the task itself.
+     */
+    @Nullable
+    public static <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, getPool());
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    private static synchronized ThreadPoolExecutor getPool() {
+        final int workers = ServerConfig.MATCHING_WORKERS.get();
+        if (pool != null && !pool.isShutdown() && pool.getCorePoolSize() == workers)
+            return pool;
+
+        // Worker count changed (or first use); let the old pool drain what it already has
+        if (pool != null)
+            pool.shutdown();
+
+        final ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "CompactCrafting Recipe Matcher #" + THREAD_ID.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setUncaughtExceptionHandler((t, e) -> CompactCrafting.LOGGER.error("Error in recipe matching thread.", e));
+            return thread;
+        };
+
+        pool = new ThreadPoolExecutor(workers, workers, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(workers * QUEUE_PER_WORKER), factory, new ThreadPoolExecutor.AbortPolicy());
+
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Stops the pool; queued scans are discarded. Called when the server stops.
+     */
+    public static synchronized void shutdown() {
+        if (pool == null)
+            return;
+
+        pool.shutdownNow();
+        pool = null;
+    }
+}
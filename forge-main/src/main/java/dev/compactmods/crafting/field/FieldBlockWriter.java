@@ -0,0 +1,123 @@
+package dev.compactmods.crafting.field;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.lighting.LevelLightEngine;
+import net.minecraft.world.phys.AABB;
+
+/**
+ * Writes many blocks inside a field straight into the chunk sections, instead of going through
+ * {@link net.minecraft.world.level.Level#setBlock} once per block.
+ * <p>
+ * Only blocks on the outer layer of the field notify their neighbours, since everything inside the
+ * field is being rewritten anyway. Clients get one section update packet per changed section, sent
+ * by the chunk holder at the end of the tick. Lighting checks are queued for the light engine to
+ * process together. Blocks with block entities still go through setBlock, so their removal and
+ * placement logic (dropping inventories and so on) runs as normal.
+ */
+class FieldBlockWriter {
+
+    private static final Heightmap.Types[] HEIGHTMAPS = {
+            Heightmap.Types.MOTION_BLOCKING,
+            Heightmap.Types.MOTION_BLOCKING_NO_LEAVES,
+            Heightmap.Types.OCEAN_FLOOR,
+            Heightmap.Types.WORLD_SURFACE
+    };
+
+    private final ServerLevel level;
+    private final LevelLightEngine lightEngine;
+
+    /**
+     * Inclusive block bounds of the field's crafting area.
+     */
+    private final int minX, minY, minZ, maxX, maxY, maxZ;
+
+    /**
+     * Positions on the outer layer of the field that changed; their neighbours get updated in {@link #finish()}.
+     */
+    private final LongArrayList edges;
+
+    FieldBlockWriter(ServerLevel level, AABB fieldBounds) {
+        this.level = level;
+        this.lightEngine = level.getChunkSource().getLightEngine();
+
+        final AABB inner = fieldBounds.contract(1, 1, 1);
+        final BlockPos min = new BlockPos(inner.minX, inner.minY, inner.minZ);
+        final BlockPos max = new BlockPos(inner.maxX, inner.maxY, inner.maxZ);
+        this.minX = min.getX();
+        this.minY = min.getY();
+        this.minZ = min.getZ();
+        this.maxX = max.getX();
+        this.maxY = max.getY();
+        this.maxZ = max.getZ();
+
+        this.edges = new LongArrayList();
+    }
+
+    /**
+     * Sets a single block. Callers wanting a top-down order (so attached blocks don't pop off)
+     * should pass positions in that order.
+     */
+    void set(BlockPos pos, BlockState state) {
+        final LevelChunk chunk = level.getChunkAt(pos);
+        final LevelChunkSection section = chunk.getSection(chunk.getSectionIndex(pos.getY()));
+        final BlockState existing = section.getBlockState(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15);
+
+        if (existing == state)
+            return;
+
+        if (existing.hasBlockEntity() || state.hasBlockEntity()) {
+            level.setBlock(pos, state, Block.UPDATE_ALL);
+            return;
+        }
+
+        final boolean wasEmpty = section.hasOnlyAir();
+        section.setBlockState(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15, state);
+
+        for (Heightmap.Types type : HEIGHTMAPS)
+            chunk.getOrCreateHeightmapUnprimed(type).update(pos.getX() & 15, pos.getY(), pos.getZ() & 15, state);
+
+        final boolean nowEmpty = section.hasOnlyAir();
+        if (wasEmpty != nowEmpty)
+            lightEngine.updateSectionStatus(SectionPos.of(pos), nowEmpty);
+
+        lightEngine.checkBlock(pos);
+        chunk.setUnsaved(true);
+
+        // Batched into section update packets by the chunk holder
+        level.getChunkSource().blockChanged(pos);
+        level.onBlockStateChange(pos, existing, state);
+
+        if (isEdge(pos))
+            edges.add(pos.asLong());
+    }
+
+    /**
+     * Notifies blocks just outside the field about the changes on its outer layer.
+     */
+    void finish() {
+        final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int i = 0; i < edges.size(); i++) {
+            pos.set(edges.getLong(i));
+
+            final BlockState state = level.getBlockState(pos);
+            level.updateNeighborsAt(pos, state.getBlock());
+            state.updateNeighbourShapes(level, pos, Block.UPDATE_CLIENTS);
+        }
+
+        edges.clear();
+    }
+
+    private boolean isEdge(BlockPos pos) {
+        return pos.getX() == minX || pos.getX() == maxX
+                || pos.getY() == minY || pos.getY() == maxY
+                || pos.getZ() == minZ || pos.getZ() == maxZ;
+    }
+}
@@ -0,0 +1,98 @@
+package dev.compactmods.crafting.field;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Decides when a field's recipe changes are worth telling anyone about. Listeners are only called
+ * when the recipe is actually different from what they last heard, and tracking clients get at
+ * most one recipe packet per field tick, only if it changes what they were last sent.
+ * <p>
+ * Block edits clear the recipe on every change, so without this a player building in a field
+ * would fire listener events per block and a recipe packet per scan.
+ */
+public class FieldChangePublisher {
+
+    /**
+     * Recipe listeners were last told about; null for none.
+     */
+    @Nullable
+    private ResourceLocation published;
+
+    /**
+     * Recipe tracking clients were last sent; null for none.
+     */
+    @Nullable
+    private ResourceLocation synced;
+    private boolean syncPending;
+
+    private long listenerEvents;
+    private long listenerSuppressed;
+    private long packetsSent;
+    private long packetsSuppressed;
+
+    /**
+     * @return Whether listeners need to hear about the recipe; false if they already have.
+     */
+    boolean publish(@Nullable ResourceLocation recipe) {
+        if (Objects.equals(recipe, published)) {
+            listenerSuppressed++;
+            return false;
+        }
+
+        published = recipe;
+        listenerEvents++;
+        return true;
+    }
+
+    /**
+     * Marks the recipe as changed for clients. Changes queued before the next flush go out as one packet.
+     */
+    void queueSync() {
+        if (syncPending)
+            packetsSuppressed++;
+
+        syncPending = true;
+    }
+
+    boolean isSyncPending() {
+        return syncPending;
+    }
+
+    /**
+     * Ends the pending sync.
+     *
+     * @return Whether clients need a packet for the recipe; false if nothing was queued or they already have it.
+     */
+    boolean flushSync(@Nullable ResourceLocation recipe) {
+        if (!syncPending)
+            return false;
+
+        syncPending = false;
+        if (Objects.equals(recipe, synced)) {
+            packetsSuppressed++;
+            return false;
+        }
+
+        synced = recipe;
+        packetsSent++;
+        return true;
+    }
+
+    public long getListenerEvents() {
+        return listenerEvents;
+    }
+
+    public long getListenerSuppressed() {
+        return listenerSuppressed;
+    }
+
+    public long getPacketsSent() {
+        return packetsSent;
+    }
+
+    public long getPacketsSuppressed() {
+        return packetsSuppressed;
+    }
+}
@@ -0,0 +1,70 @@
+package dev.compactmods.crafting.field;
+
+import java.util.ArrayList;
+import java.util.List;
+import dev.compactmods.crafting.api.field.IMiniaturizationField;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.world.level.ChunkPos;
+
+/**
+ * Routes chunk load and unload events for a level to the fields that depend on that chunk
+ * (see {@link IMiniaturizationField#getDependentChunks()}).
+ */
+class FieldChunkDispatcher {
+
+    private final Long2ObjectOpenHashMap<List<IMiniaturizationField>> watchers;
+
+    /**
+     * Chunk keys each field was registered under, for removal.
+     */
+    private final Reference2ObjectOpenHashMap<IMiniaturizationField, long[]> watched;
+
+    FieldChunkDispatcher() {
+        this.watchers = new Long2ObjectOpenHashMap<>();
+        this.watched = new Reference2ObjectOpenHashMap<>();
+    }
+
+    void watch(IMiniaturizationField field) {
+        unwatch(field);
+
+        final long[] keys = field.getDependentChunks().distinct().toArray();
+        for (long key : keys) {
+            List<IMiniaturizationField> inChunk = watchers.get(key);
+            if (inChunk == null) {
+                inChunk = new ArrayList<>(1);
+                watchers.put(key, inChunk);
+            }
+
+            inChunk.add(field);
+        }
+
+        watched.put(field, keys);
+    }
+
+    void unwatch(IMiniaturizationField field) {
+        final long[] keys = watched.remove(field);
+        if (keys == null)
+            return;
+
+        for (long key : keys) {
+            final List<IMiniaturizationField> inChunk = watchers.get(key);
+            if (inChunk == null)
+                continue;
+
+            inChunk.remove(field);
+            if (inChunk.isEmpty())
+                watchers.remove(key);
+        }
+    }
+
+    void dispatch(ChunkPos chunk, boolean loaded) {
+        final List<IMiniaturizationField> inChunk = watchers.get(chunk.toLong());
+        if (inChunk == null)
+            return;
+
+        // Copied; a field reacting to the change may unregister itself
+        for (IMiniaturizationField field : inChunk.toArray(new IMiniaturizationField[0]))
+            field.onChunkLoadChanged(chunk, loaded);
+    }
+}
@@ -0,0 +1,170 @@
+package dev.compactmods.crafting.field;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.AABB;
+
+/**
+ * Live model of a field's contents. Block events mark the exact positions that changed, and a refresh
+ * only re-reads those positions from the level; the whole field is only read again when the model
+ * is new, was invalidated, or too many positions changed at once.
+ *
+ * Player edits, pistons, fluids, explosions and commands all reach the model through block and
+ * neighbor notification events. The field's own bulk writes skip those, so it invalidates the model
+ * itself after writing.
+ */
+class FieldContents {
+
+    /**
+     * Past this many changed positions, one full pass over the field is cheaper than tracking them.
+     */
+    private static final int MAX_DELTAS = 64;
+
+    @Nullable
+    private AABB bounds;
+    private int minX, minY, minZ;
+    private int sizeX, sizeY, sizeZ;
+    private int minBuildHeight, height;
+
+    private short[] states = new short[0];
+    private final List<BlockState> palette = new ArrayList<>();
+    private final Reference2IntOpenHashMap<BlockState> paletteLookup = new Reference2IntOpenHashMap<>();
+
+    private final LongOpenHashSet dirty = new LongOpenHashSet();
+    private boolean needsCapture = true;
+    private int revision = 0;
+
+    @Nullable
+    private FieldSnapshot snapshot;
+
+    FieldContents() {
+        paletteLookup.defaultReturnValue(-1);
+    }
+
+    /**
+     * Marks a single position as changed; it is read again on the next refresh.
+     */
+    void markDirty(BlockPos pos) {
+        if (!needsCapture)
+            dirty.add(pos.asLong());
+    }
+
+    /**
+     * Throws out the model; the next refresh reads the whole field again.
+     */
+    void markAllDirty() {
+        needsCapture = true;
+        dirty.clear();
+    }
+
+    /**
+     * Changes every time the modelled contents actually change.
+     */
+    int getRevision() {
+        return revision;
+    }
+
+    /**
+     * Brings the model up to date with the level and returns an immutable snapshot of it.
+     */
+    FieldSnapshot refresh(BlockGetter level, AABB fieldBounds) {
+        if (needsCapture || !fieldBounds.equals(bounds) || dirty.size() > MAX_DELTAS) {
+            load(FieldSnapshot.capture(level, fieldBounds));
+            return snapshot;
+        }
+
+        if (!dirty.isEmpty()) {
+            boolean changed = false;
+            final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+            for (LongIterator it = dirty.iterator(); it.hasNext(); ) {
+                pos.set(it.nextLong());
+                final int x = pos.getX() - minX;
+                final int y = pos.getY() - minY;
+                final int z = pos.getZ() - minZ;
+                if (x < 0 || x >= sizeX || y < 0 || y >= sizeY || z < 0 || z >= sizeZ)
+                    continue;
+
+                changed |= set((y * sizeZ + z) * sizeX + x, level.getBlockState(pos));
+            }
+
+            dirty.clear();
+            if (changed) {
+                revision++;
+                snapshot = null;
+            }
+        }
+
+        if (snapshot == null) {
+            snapshot = FieldSnapshot.fromGrid(bounds, palette, states, minBuildHeight, height);
+
+            // Churn (redstone, growing plants) can leave lots of unused palette entries behind
+            if (palette.size() > states.length)
+                reloadPalette(snapshot);
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Replaces the model with a full read of the field.
+     */
+    void load(FieldSnapshot full) {
+        final AABB fullBounds = full.getBounds();
+        this.bounds = fullBounds;
+        this.minX = (int) Math.floor(fullBounds.minX);
+        this.minY = (int) Math.floor(fullBounds.minY);
+        this.minZ = (int) Math.floor(fullBounds.minZ);
+        this.sizeX = full.getSizeX();
+        this.sizeY = full.getSizeY();
+        this.sizeZ = full.getSizeZ();
+        this.minBuildHeight = full.getMinBuildHeight();
+        this.height = full.getHeight();
+
+        reloadPalette(full);
+
+        this.snapshot = full;
+        this.needsCapture = false;
+        this.dirty.clear();
+        this.revision++;
+    }
+
+    private void reloadPalette(FieldSnapshot from) {
+        palette.clear();
+        paletteLookup.clear();
+        for (BlockState state : from.getPalette()) {
+            paletteLookup.put(state, palette.size());
+            palette.add(state);
+        }
+
+        final short[] grid = new short[sizeX * sizeY * sizeZ];
+        int index = 0;
+        for (int y = 0; y < sizeY; y++)
+            for (int z = 0; z < sizeZ; z++)
+                for (int x = 0; x < sizeX; x++, index++)
+                    grid[index] = (short) from.getPaletteIndex(x, y, z);
+
+        this.states = grid;
+    }
+
+    private boolean set(int index, BlockState state) {
+        int paletteIndex = paletteLookup.getInt(state);
+        if (paletteIndex == -1) {
+            paletteIndex = palette.size();
+            palette.add(state);
+            paletteLookup.put(state, paletteIndex);
+        }
+
+        if (states[index] == paletteIndex)
+            return false;
+
+        states[index] = (short) paletteIndex;
+        return true;
+    }
+}
@@ -5,50 +5,50 @@ import dev.compactmods.crafting.CompactCrafting;
 import dev.compactmods.crafting.api.EnumCraftingState;
 import dev.compactmods.crafting.api.field.IActiveWorldFields;
 import dev.compactmods.crafting.api.field.IMiniaturizationField;
-import dev.compactmods.crafting.api.field.MiniaturizationFieldSize;
 import dev.compactmods.crafting.core.CCCapabilities;
-import dev.compactmods.crafting.projector.FieldProjectorBlock;
 import dev.compactmods.crafting.server.ServerConfig;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.phys.AABB;
-import net.minecraft.world.phys.Vec3;
 
 /**
  * Provides utilities to help with projector field management.
  */
 public abstract class FieldHelper {
     public static boolean checkBlockPlacement(Level level, BlockPos pos) throws MissingFieldsException {
-        int maxDimensions = MiniaturizationFieldSize.maximum().getDimensions();
-        AABB searchArea = new AABB(pos, pos).inflate(maxDimensions + 3);
+        final IActiveWorldFields fields = level.getCapability(CCCapabilities.FIELDS)
+                .orElseThrow(() -> new MissingFieldsException("Could not fetch fields off level: " + level.dimension()));
 
-        BlockPos[] nearbyProjectors = BlockPos.betweenClosedStream(searchArea)
-                .filter(possProjector -> level.getBlockState(possProjector).getBlock() instanceof FieldProjectorBlock)
-                .filter(possProjector -> FieldProjectorBlock.isActive(level.getBlockState(possProjector)))
-                .map(BlockPos::immutable)
-                .toArray(BlockPos[]::new);
+        // Active fields are indexed by the chunk sections they cover, so no block reads are needed here
+        final Optional<IMiniaturizationField> affectedField = fields.getFieldContaining(pos);
 
         if (ServerConfig.FIELD_BLOCK_CHANGES.get())
-            CompactCrafting.LOGGER.debug("Found {} nearby projectors near {}.", nearbyProjectors.length, pos);
+            CompactCrafting.LOGGER.debug("Block change at {} affects field: {}", pos, affectedField.map(IMiniaturizationField::getCenter).orElse(null));
 
-        final Vec3 centerBlockChanged = Vec3.atCenterOf(pos);
-        if (nearbyProjectors.length > 0) {
-            final IActiveWorldFields fields = level.getCapability(CCCapabilities.FIELDS)
-                    .orElseThrow(() -> new MissingFieldsException("Could not fetch fields off level: " + level.dimension()));
-
-            final Optional<IMiniaturizationField> affectedField = fields.getFields()
-                    .filter(field -> field.getBounds().contains(centerBlockChanged))
-                    .findFirst();
+        return affectedField.map(field -> {
+            // Disabled fields have their projectors deactivated; they do not care about their contents
+            if (!field.enabled())
+                return true;
 
-            return affectedField.map(field -> {
-                if (field.getCraftingState() == EnumCraftingState.CRAFTING)
-                    return false;
+            if (field.getCraftingState() == EnumCraftingState.CRAFTING)
+                return false;
 
-                field.fieldContentsChanged();
-                return true;
-            }).orElse(true);
-        }
+            field.fieldContentsChanged(pos);
+            return true;
+        }).orElse(true);
+    }
 
-        return true;
+    /**
+     * Tells the field containing a changed position about it. Used for changes that can't be cancelled
+     * (fluids, pistons, explosions, commands), where placement rules don't apply.
+     */
+    public static void notifyBlockChanged(Level level, BlockPos pos) {
+        level.getCapability(CCCapabilities.FIELDS)
+                .resolve()
+                .flatMap(fields -> fields.getFieldContaining(pos))
+                .ifPresent(field -> {
+                    // Crafting fields were emptied on purpose; they rebuild their contents when the craft ends
+                    if (field.enabled() && field.getCraftingState() != EnumCraftingState.CRAFTING)
+                        field.fieldContentsChanged(pos);
+                });
     }
-}
\ No newline at end of file
+}
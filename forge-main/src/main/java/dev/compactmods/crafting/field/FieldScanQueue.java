@@ -0,0 +1,113 @@
+package dev.compactmods.crafting.field;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import dev.compactmods.crafting.api.field.IMiniaturizationField;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Level-wide queue of fields waiting on a recipe scan. Scans are spread over several ticks when
+ * many fields change at once; fields are served in the order they asked, except that fields a
+ * player is looking at go first.
+ */
+class FieldScanQueue {
+
+    /**
+     * How far along a player's view ray a field still counts as being looked at.
+     */
+    private static final double LOOK_DISTANCE = 64;
+
+    private final ArrayDeque<IMiniaturizationField> queue;
+    private final ReferenceOpenHashSet<IMiniaturizationField> queued;
+
+    private final List<IMiniaturizationField> watched;
+
+    FieldScanQueue() {
+        this.queue = new ArrayDeque<>();
+        this.queued = new ReferenceOpenHashSet<>();
+        this.watched = new ArrayList<>();
+    }
+
+    void offer(IMiniaturizationField field) {
+        if (queued.add(field))
+            queue.addLast(field);
+    }
+
+    void remove(IMiniaturizationField field) {
+        if (queued.remove(field))
+            queue.remove(field);
+    }
+
+    int size() {
+        return queue.size();
+    }
+
+    /**
+     * Runs queued scans until either budget runs out. At least one scan runs per call so the queue
+     * always drains eventually, even with a zero time budget.
+     *
+     * @param players     Players whose view decides which fields go first.
+     * @param budgetNanos Time the scans may take this tick.
+     * @param maxScans    Most scans to run this tick.
+     * @param scan        Scans a single field.
+     */
+    void run(List<? extends Player> players, long budgetNanos, int maxScans, Consumer<IMiniaturizationField> scan) {
+        if (queue.isEmpty())
+            return;
+
+        // Everything fits this tick anyway; order doesn't matter
+        if (queue.size() > maxScans && !players.isEmpty())
+            prioritizeWatched(players);
+
+        final long start = System.nanoTime();
+        int scans = 0;
+        while (!queue.isEmpty() && scans < maxScans) {
+            if (scans > 0 && System.nanoTime() - start >= budgetNanos)
+                break;
+
+            final IMiniaturizationField field = queue.pollFirst();
+            queued.remove(field);
+            scan.accept(field);
+            scans++;
+        }
+    }
+
+    private void prioritizeWatched(List<? extends Player> players) {
+        for (IMiniaturizationField field : queue) {
+            for (Player player : players) {
+                if (isLookingAt(player, field)) {
+                    watched.add(field);
+                    break;
+                }
+            }
+        }
+
+        if (watched.isEmpty())
+            return;
+
+        // Re-add in reverse so the watched fields keep their relative order at the front
+        for (int i = watched.size() - 1; i >= 0; i--) {
+            final IMiniaturizationField field = watched.get(i);
+            queue.remove(field);
+            queue.addFirst(field);
+        }
+
+        watched.clear();
+    }
+
+    private static boolean isLookingAt(Player player, IMiniaturizationField field) {
+        if (player.isSpectator())
+            return false;
+
+        final Vec3 eye = player.getEyePosition();
+        final Vec3 end = eye.add(player.getViewVector(1.0f).scale(LOOK_DISTANCE));
+
+        final Optional<Vec3> hit = field.getBounds().clip(eye, end);
+        return hit.isPresent() || field.getBounds().contains(eye);
+    }
+}
@@ -0,0 +1,121 @@
+package dev.compactmods.crafting.field;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import dev.compactmods.crafting.api.field.IMiniaturizationField;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+
+/**
+ * Hashed timing wheel deciding which fields tick on a given game tick. Each field holds at most one
+ * pending wakeup; slots are indexed by the low bits of the wakeup tick, so scheduling and firing are
+ * constant time and fields that are asleep cost nothing until their slot comes around.
+ */
+class FieldScheduler {
+
+    private static final int WHEEL_SIZE = 128;
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    private final List<List<IMiniaturizationField>> wheel;
+
+    /**
+     * The tick each scheduled field wakes on. Entries left in a slot after a field was rescheduled
+     * elsewhere are recognised as stale by comparing against this.
+     */
+    private final Reference2LongOpenHashMap<IMiniaturizationField> deadlines;
+
+    private final List<IMiniaturizationField> due;
+
+    private long lastTick = Long.MIN_VALUE;
+
+    FieldScheduler() {
+        this.wheel = new ArrayList<>(WHEEL_SIZE);
+        for (int i = 0; i < WHEEL_SIZE; i++)
+            wheel.add(new ArrayList<>(2));
+
+        this.deadlines = new Reference2LongOpenHashMap<>();
+        this.deadlines.defaultReturnValue(Long.MAX_VALUE);
+        this.due = new ArrayList<>();
+    }
+
+    /**
+     * Wakes the field on the given tick, unless it is already due to wake earlier.
+     */
+    void schedule(IMiniaturizationField field, long tick) {
+        if (lastTick != Long.MIN_VALUE && tick <= lastTick)
+            tick = lastTick + 1;
+
+        final long existing = deadlines.getLong(field);
+        if (existing <= tick)
+            return;
+
+        deadlines.put(field, tick);
+
+        // Already sitting in the target slot from an earlier schedule; the new deadline is picked up from the map
+        if (existing != Long.MAX_VALUE && (existing & MASK) == (tick & MASK))
+            return;
+
+        wheel.get((int) (tick & MASK)).add(field);
+    }
+
+    /**
+     * Wakes the field on the next processed tick.
+     */
+    void wake(IMiniaturizationField field) {
+        schedule(field, lastTick == Long.MIN_VALUE ? Long.MIN_VALUE : lastTick + 1);
+    }
+
+    void remove(IMiniaturizationField field) {
+        deadlines.removeLong(field);
+    }
+
+    /**
+     * Moves the wheel forward to the given tick and hands every field that is due to the action.
+     * Fields are unscheduled before the action runs, so it may schedule them again.
+     */
+    void advance(long now, Consumer<IMiniaturizationField> action) {
+        long from = lastTick + 1;
+
+        // First run, skipped a full rotation or more, or time went backwards; look at every slot once
+        if (lastTick == Long.MIN_VALUE || now - from >= WHEEL_SIZE || now < from)
+            from = now - WHEEL_SIZE + 1;
+
+        for (long tick = from; tick <= now; tick++) {
+            final int slot = (int) (tick & MASK);
+            final List<IMiniaturizationField> inSlot = wheel.get(slot);
+
+            for (int i = inSlot.size() - 1; i >= 0; i--) {
+                final IMiniaturizationField field = inSlot.get(i);
+                final long deadline = deadlines.getLong(field);
+
+                // Removed, or rescheduled into another slot
+                if (deadline == Long.MAX_VALUE || (deadline & MASK) != slot) {
+                    removeAt(inSlot, i);
+                    continue;
+                }
+
+                if (deadline <= now) {
+                    // Unscheduled right away, so a duplicate entry for the field is seen as stale
+                    deadlines.removeLong(field);
+                    removeAt(inSlot, i);
+                    due.add(field);
+                }
+            }
+        }
+
+        lastTick = now;
+
+        // Indexed; no iterator on the tick path
+        for (int i = 0; i < due.size(); i++)
+            action.accept(due.get(i));
+
+        due.clear();
+    }
+
+    private static void removeAt(List<IMiniaturizationField> list, int index) {
+        // Order within a slot doesn't matter; swap with the tail to avoid shifting
+        final int last = list.size() - 1;
+        list.set(index, list.get(last));
+        list.remove(last);
+    }
+}
@@ -0,0 +1,123 @@
+package dev.compactmods.crafting.field;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import dev.compactmods.crafting.api.field.IMiniaturizationField;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.phys.AABB;
+
+/**
+ * Spatial index of active fields, keyed by the chunk sections that a field's bounds
+ * (including its projectors) overlap. Lets block events find the field they affect
+ * without reading any blocks from the level.
+ */
+class FieldSectionIndex {
+
+    private final Long2ObjectOpenHashMap<List<IMiniaturizationField>> sections;
+
+    /**
+     * Section keys each field was registered under; fields can be re-centered or resized
+     * after registration, so we can't recalculate these on removal.
+     */
+    private final Reference2ObjectOpenHashMap<IMiniaturizationField, long[]> registered;
+
+    FieldSectionIndex() {
+        this.sections = new Long2ObjectOpenHashMap<>();
+        this.registered = new Reference2ObjectOpenHashMap<>();
+    }
+
+    void add(IMiniaturizationField field) {
+        remove(field);
+
+        final long[] keys = getSectionKeys(field);
+        for (long key : keys) {
+            List<IMiniaturizationField> inSection = sections.get(key);
+            if (inSection == null) {
+                inSection = new ArrayList<>(1);
+                sections.put(key, inSection);
+            }
+
+            inSection.add(field);
+        }
+
+        registered.put(field, keys);
+    }
+
+    void remove(IMiniaturizationField field) {
+        final long[] keys = registered.remove(field);
+        if (keys == null)
+            return;
+
+        for (long key : keys) {
+            final List<IMiniaturizationField> inSection = sections.get(key);
+            if (inSection == null)
+                continue;
+
+            inSection.remove(field);
+            if (inSection.isEmpty())
+                sections.remove(key);
+        }
+    }
+
+    /**
+     * Gets all the fields overlapping the chunk section that contains the given position.
+     */
+    List<IMiniaturizationField> getFieldsInSection(BlockPos pos) {
+        return getFieldsInSection(SectionPos.asLong(
+                SectionPos.blockToSectionCoord(pos.getX()),
+                SectionPos.blockToSectionCoord(pos.getY()),
+                SectionPos.blockToSectionCoord(pos.getZ())));
+    }
+
+    List<IMiniaturizationField> getFieldsInSection(long sectionKey) {
+        final List<IMiniaturizationField> inSection = sections.get(sectionKey);
+        return inSection == null ? Collections.emptyList() : inSection;
+    }
+
+    /**
+     * Finds the field whose crafting bounds contain the given position.
+     */
+    @Nullable
+    IMiniaturizationField getFieldContaining(BlockPos pos) {
+        final List<IMiniaturizationField> candidates = getFieldsInSection(pos);
+        final double x = pos.getX() + 0.5d;
+        final double y = pos.getY() + 0.5d;
+        final double z = pos.getZ() + 0.5d;
+
+        for (int i = 0; i < candidates.size(); i++) {
+            final IMiniaturizationField field = candidates.get(i);
+            if (field.getBounds().contains(x, y, z))
+                return field;
+        }
+
+        return null;
+    }
+
+    private static long[] getSectionKeys(IMiniaturizationField field) {
+        final BlockPos center = field.getCenter();
+        final AABB bounds = field.getBounds();
+
+        // Projectors sit one block outside of the projector distance, on the same level as the center
+        final int projectorReach = field.getFieldSize().getProjectorDistance() + 1;
+        final int minX = SectionPos.blockToSectionCoord(Math.min((int) Math.floor(bounds.minX), center.getX() - projectorReach));
+        final int maxX = SectionPos.blockToSectionCoord(Math.max((int) Math.ceil(bounds.maxX) - 1, center.getX() + projectorReach));
+        final int minY = SectionPos.blockToSectionCoord((int) Math.floor(bounds.minY));
+        final int maxY = SectionPos.blockToSectionCoord((int) Math.ceil(bounds.maxY) - 1);
+        final int minZ = SectionPos.blockToSectionCoord(Math.min((int) Math.floor(bounds.minZ), center.getZ() - projectorReach));
+        final int maxZ = SectionPos.blockToSectionCoord(Math.max((int) Math.ceil(bounds.maxZ) - 1, center.getZ() + projectorReach));
+
+        final long[] keys = new long[(maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1)];
+        int i = 0;
+        for (int sx = minX; sx <= maxX; sx++)
+            for (int sy = minY; sy <= maxY; sy++)
+                for (int sz = minZ; sz <= maxZ; sz++)
+                    keys[i++] = SectionPos.asLong(sx, sy, sz);
+
+        return keys;
+    }
+}
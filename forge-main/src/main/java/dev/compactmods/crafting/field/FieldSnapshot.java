@@ -0,0 +1,432 @@
+package dev.compactmods.crafting.field;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import dev.compactmods.crafting.api.field.MiniaturizationFieldSize;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.nbt.Tag;
+import net.minecraft.util.Mth;
+import net.minecraft.util.SimpleBitStorage;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.LevelHeightAccessor;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.material.FluidState;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * An immutable copy of the block states inside a field, read from the level in a single pass.
+ * States are stored as indices into a palette of the distinct states found; the filled bounds,
+ * filled count and per-state totals are calculated during the same pass.
+ *
+ * Implements {@link BlockGetter} (in world coordinates) so it can be handed to anything that
+ * would normally read from the level, such as {@link dev.compactmods.crafting.recipes.blocks.RecipeBlocks#create}.
+ */
+public class FieldSnapshot implements BlockGetter {
+
+    private static final BlockState AIR = Blocks.AIR.defaultBlockState();
+
+    private final AABB bounds;
+    private final int minX, minY, minZ;
+    private final int sizeX, sizeY, sizeZ;
+
+    private final List<BlockState> palette;
+    private final int[] paletteCounts;
+    private final short[] states;
+
+    private final int filledCount;
+    private final AABB filledBounds;
+
+    private final int minBuildHeight;
+    private final int height;
+
+    private FieldSnapshot(AABB bounds, List<BlockState> palette, int[] paletteCounts, short[] states,
+                          int filledCount, AABB filledBounds, int minBuildHeight, int height) {
+        this.bounds = bounds;
+        this.minX = (int) Math.floor(bounds.minX);
+        this.minY = (int) Math.floor(bounds.minY);
+        this.minZ = (int) Math.floor(bounds.minZ);
+        this.sizeX = (int) Math.round(bounds.getXsize());
+        this.sizeY = (int) Math.round(bounds.getYsize());
+        this.sizeZ = (int) Math.round(bounds.getZsize());
+
+        this.palette = palette;
+        this.paletteCounts = paletteCounts;
+        this.states = states;
+        this.filledCount = filledCount;
+        this.filledBounds = filledBounds;
+        this.minBuildHeight = minBuildHeight;
+        this.height = height;
+    }
+
+    public static FieldSnapshot capture(BlockGetter level, MiniaturizationFieldSize size, BlockPos center) {
+        return capture(level, size.getBoundsAtPosition(center));
+    }
+
+    /**
+     * Reads every position inside the given bounds from the level exactly once.
+     *
+     * @param level  The level (or other block source) to read from.
+     * @param bounds Block-aligned bounds to capture, in world coordinates.
+     */
+    public static FieldSnapshot capture(BlockGetter level, AABB bounds) {
+        final int minX = (int) Math.floor(bounds.minX);
+        final int minY = (int) Math.floor(bounds.minY);
+        final int minZ = (int) Math.floor(bounds.minZ);
+        final int sizeX = (int) Math.round(bounds.getXsize());
+        final int sizeY = (int) Math.round(bounds.getYsize());
+        final int sizeZ = (int) Math.round(bounds.getZsize());
+
+        final short[] states = new short[sizeX * sizeY * sizeZ];
+        final List<BlockState> palette = new ArrayList<>();
+        final Reference2IntOpenHashMap<BlockState> paletteLookup = new Reference2IntOpenHashMap<>();
+        paletteLookup.defaultReturnValue(-1);
+
+        int[] counts = new int[8];
+        int filled = 0;
+        int fMinX = Integer.MAX_VALUE, fMinY = Integer.MAX_VALUE, fMinZ = Integer.MAX_VALUE;
+        int fMaxX = Integer.MIN_VALUE, fMaxY = Integer.MIN_VALUE, fMaxZ = Integer.MIN_VALUE;
+
+        final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        int index = 0;
+        for (int y = 0; y < sizeY; y++) {
+            for (int z = 0; z < sizeZ; z++) {
+                for (int x = 0; x < sizeX; x++, index++) {
+                    final BlockState state = level.getBlockState(pos.set(minX + x, minY + y, minZ + z));
+
+                    int paletteIndex = paletteLookup.getInt(state);
+                    if (paletteIndex == -1) {
+                        paletteIndex = palette.size();
+                        palette.add(state);
+                        paletteLookup.put(state, paletteIndex);
+                        if (paletteIndex == counts.length) {
+                            final int[] grown = new int[counts.length * 2];
+                            System.arraycopy(counts, 0, grown, 0, counts.length);
+                            counts = grown;
+                        }
+                    }
+
+                    states[index] = (short) paletteIndex;
+                    counts[paletteIndex]++;
+
+                    if (!state.isAir()) {
+                        filled++;
+                        if (x < fMinX) fMinX = x;
+                        if (y < fMinY) fMinY = y;
+                        if (z < fMinZ) fMinZ = z;
+                        if (x > fMaxX) fMaxX = x;
+                        if (y > fMaxY) fMaxY = y;
+                        if (z > fMaxZ) fMaxZ = z;
+                    }
+                }
+            }
+        }
+
+        final int[] paletteCounts = new int[palette.size()];
+        System.arraycopy(counts, 0, paletteCounts, 0, paletteCounts.length);
+
+        // Matches the shape of BlockSpaceUtil#getBoundsForBlocks, including the zero-size box when empty
+        final AABB filledBounds = filled == 0 ?
+                AABB.ofSize(Vec3.ZERO, 0, 0, 0) :
+                new AABB(minX + fMinX, minY + fMinY, minZ + fMinZ,
+                        minX + fMaxX + 1, minY + fMaxY + 1, minZ + fMaxZ + 1);
+
+        return new FieldSnapshot(bounds, Collections.unmodifiableList(palette), paletteCounts, states,
+                filled, filledBounds, level.getMinBuildHeight(), level.getHeight());
+    }
+
+    /**
+     * Builds a snapshot from an existing palette-indexed grid (laid out like {@link #getPaletteIndex})
+     * without reading the level. Palette entries that no position uses are dropped.
+     */
+    static FieldSnapshot fromGrid(AABB bounds, List<BlockState> palette, short[] grid, int minBuildHeight, int height) {
+        final int minX = (int) Math.floor(bounds.minX);
+        final int minY = (int) Math.floor(bounds.minY);
+        final int minZ = (int) Math.floor(bounds.minZ);
+        final int sizeX = (int) Math.round(bounds.getXsize());
+        final int sizeZ = (int) Math.round(bounds.getZsize());
+
+        final int[] remap = new int[palette.size()];
+        Arrays.fill(remap, -1);
+
+        final List<BlockState> compacted = new ArrayList<>();
+        final int[] counts = new int[palette.size()];
+        final short[] states = new short[grid.length];
+
+        int filled = 0;
+        int fMinX = Integer.MAX_VALUE, fMinY = Integer.MAX_VALUE, fMinZ = Integer.MAX_VALUE;
+        int fMaxX = Integer.MIN_VALUE, fMaxY = Integer.MIN_VALUE, fMaxZ = Integer.MIN_VALUE;
+
+        for (int index = 0; index < grid.length; index++) {
+            final int original = grid[index];
+            if (remap[original] == -1) {
+                remap[original] = compacted.size();
+                compacted.add(palette.get(original));
+            }
+
+            final int paletteIndex = remap[original];
+            states[index] = (short) paletteIndex;
+            counts[paletteIndex]++;
+
+            if (!palette.get(original).isAir()) {
+                final int x = index % sizeX;
+                final int z = (index / sizeX) % sizeZ;
+                final int y = index / (sizeX * sizeZ);
+
+                filled++;
+                if (x < fMinX) fMinX = x;
+                if (y < fMinY) fMinY = y;
+                if (z < fMinZ) fMinZ = z;
+                if (x > fMaxX) fMaxX = x;
+                if (y > fMaxY) fMaxY = y;
+                if (z > fMaxZ) fMaxZ = z;
+            }
+        }
+
+        final int[] paletteCounts = new int[compacted.size()];
+        System.arraycopy(counts, 0, paletteCounts, 0, paletteCounts.length);
+
+        final AABB filledBounds = filled == 0 ?
+                AABB.ofSize(Vec3.ZERO, 0, 0, 0) :
+                new AABB(minX + fMinX, minY + fMinY, minZ + fMinZ,
+                        minX + fMaxX + 1, minY + fMaxY + 1, minZ + fMaxZ + 1);
+
+        return new FieldSnapshot(bounds, Collections.unmodifiableList(compacted), paletteCounts, states,
+                filled, filledBounds, minBuildHeight, height);
+    }
+
+    /**
+     * Writes the snapshot in a compact form: the palette, followed by the palette index of every
+     * position bit-packed into longs, the same way chunk sections store their states. The bounds are
+     * not written; the owner already knows them.
+     */
+    public CompoundTag save() {
+        final CompoundTag tag = new CompoundTag();
+
+        final ListTag paletteTag = new ListTag();
+        for (BlockState state : palette)
+            paletteTag.add(NbtUtils.writeBlockState(state));
+
+        final int bits = Math.max(1, Mth.ceillog2(palette.size()));
+        final SimpleBitStorage storage = new SimpleBitStorage(bits, states.length);
+        for (int i = 0; i < states.length; i++)
+            storage.set(i, states[i]);
+
+        tag.put("palette", paletteTag);
+        tag.putInt("bits", bits);
+        tag.putLongArray("data", storage.getRaw());
+        return tag;
+    }
+
+    /**
+     * Reads a snapshot written by {@link #save()}.
+     *
+     * @param bounds  The bounds the snapshot covers, in world coordinates.
+     * @param heights Build height limits reported by the snapshot, usually the level it belongs to.
+     * @return The snapshot, or null if the data doesn't fit the bounds.
+     */
+    @Nullable
+    public static FieldSnapshot load(CompoundTag tag, AABB bounds, LevelHeightAccessor heights) {
+        final ListTag paletteTag = tag.getList("palette", Tag.TAG_COMPOUND);
+        final List<BlockState> palette = new ArrayList<>(paletteTag.size());
+        for (int i = 0; i < paletteTag.size(); i++)
+            palette.add(NbtUtils.readBlockState(paletteTag.getCompound(i)));
+
+        final int volume = (int) (Math.round(bounds.getXsize()) * Math.round(bounds.getYsize()) * Math.round(bounds.getZsize()));
+        final int bits = tag.getInt("bits");
+        final long[] data = tag.getLongArray("data");
+        if (palette.isEmpty() || bits < 1 || bits > 16)
+            return null;
+
+        final SimpleBitStorage storage;
+        try {
+            storage = new SimpleBitStorage(bits, volume, data);
+        } catch (SimpleBitStorage.InitializationException e) {
+            return null;
+        }
+
+        final short[] grid = new short[volume];
+        for (int i = 0; i < volume; i++) {
+            final int index = storage.get(i);
+            if (index >= palette.size())
+                return null;
+
+            grid[i] = (short) index;
+        }
+
+        return fromGrid(bounds, palette, grid, heights.getMinBuildHeight(), heights.getHeight());
+    }
+
+    /**
+     * Converts vanilla structure template NBT, as fields stored their matched blocks before
+     * {@link #save()} existed, into the compact form. Positions the template doesn't list are air.
+     *
+     * @return The compact tag, or null if the template holds block entity data (which snapshots
+     * cannot carry) or doesn't have the expected size.
+     */
+    @Nullable
+    public static CompoundTag convertTemplate(CompoundTag template, int sizeX, int sizeY, int sizeZ) {
+        final ListTag size = template.getList("size", Tag.TAG_INT);
+        if (size.size() != 3 || size.getInt(0) != sizeX || size.getInt(1) != sizeY || size.getInt(2) != sizeZ)
+            return null;
+
+        // Templates with several palettes (randomized variants) don't come from fields
+        final ListTag paletteTag = template.getList("palette", Tag.TAG_COMPOUND);
+        final List<BlockState> palette = new ArrayList<>(paletteTag.size() + 1);
+        for (int i = 0; i < paletteTag.size(); i++)
+            palette.add(NbtUtils.readBlockState(paletteTag.getCompound(i)));
+
+        final int air = palette.size();
+        palette.add(AIR);
+
+        final short[] grid = new short[sizeX * sizeY * sizeZ];
+        Arrays.fill(grid, (short) air);
+
+        final ListTag blocks = template.getList("blocks", Tag.TAG_COMPOUND);
+        for (int i = 0; i < blocks.size(); i++) {
+            final CompoundTag block = blocks.getCompound(i);
+            if (block.contains("nbt"))
+                return null;
+
+            final ListTag pos = block.getList("pos", Tag.TAG_INT);
+            final int x = pos.getInt(0), y = pos.getInt(1), z = pos.getInt(2);
+            final int state = block.getInt("state");
+            if (x < 0 || y < 0 || z < 0 || x >= sizeX || y >= sizeY || z >= sizeZ || state < 0 || state >= air)
+                return null;
+
+            grid[(y * sizeZ + z) * sizeX + x] = (short) state;
+        }
+
+        final AABB bounds = new AABB(0, 0, 0, sizeX, sizeY, sizeZ);
+        return fromGrid(bounds, palette, grid, 0, 0).save();
+    }
+
+    /**
+     * Whether any state in the snapshot has a block entity; their data isn't part of the snapshot.
+     */
+    public boolean hasBlockEntities() {
+        for (BlockState state : palette) {
+            if (state.hasBlockEntity())
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks whether another snapshot covers the same bounds and holds the same state at every position.
+     */
+    public boolean sameContents(FieldSnapshot other) {
+        if (other == this)
+            return true;
+
+        if (!bounds.equals(other.bounds) || filledCount != other.filledCount)
+            return false;
+
+        for (int i = 0; i < states.length; i++) {
+            if (palette.get(states[i]) != other.palette.get(other.states[i]))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * The bounds the snapshot was captured from, in world coordinates.
+     */
+    public AABB getBounds() {
+        return bounds;
+    }
+
+    /**
+     * The smallest bounds containing every non-air block in the snapshot.
+     */
+    public AABB getFilledBounds() {
+        return filledBounds;
+    }
+
+    public int getFilledCount() {
+        return filledCount;
+    }
+
+    public boolean isEmpty() {
+        return filledCount == 0;
+    }
+
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    public int getSizeY() {
+        return sizeY;
+    }
+
+    public int getSizeZ() {
+        return sizeZ;
+    }
+
+    /**
+     * Every distinct block state found in the field, in the order they were first encountered.
+     */
+    public List<BlockState> getPalette() {
+        return palette;
+    }
+
+    /**
+     * Gets the number of positions in the field holding the given palette entry.
+     */
+    public int getPaletteCount(int paletteIndex) {
+        return paletteCounts[paletteIndex];
+    }
+
+    /**
+     * Gets the palette index at a position relative to the snapshot's minimum corner.
+     */
+    public int getPaletteIndex(int x, int y, int z) {
+        return states[(y * sizeZ + z) * sizeX + x];
+    }
+
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x < minX + sizeX
+                && y >= minY && y < minY + sizeY
+                && z >= minZ && z < minZ + sizeZ;
+    }
+
+    @Nullable
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        if (!contains(pos.getX(), pos.getY(), pos.getZ()))
+            return AIR;
+
+        return palette.get(getPaletteIndex(pos.getX() - minX, pos.getY() - minY, pos.getZ() - minZ));
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getMinBuildHeight() {
+        return minBuildHeight;
+    }
+}
@@ -2,37 +2,45 @@ package dev.compactmods.crafting.field;
 
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import dev.compactmods.crafting.CompactCrafting;
-import dev.compactmods.crafting.core.CCMiniaturizationRecipes;
 import dev.compactmods.crafting.api.EnumCraftingState;
 import dev.compactmods.crafting.api.catalyst.ICatalystMatcher;
+import dev.compactmods.crafting.api.field.IActiveWorldFields;
 import dev.compactmods.crafting.api.field.IFieldListener;
 import dev.compactmods.crafting.api.field.IMiniaturizationField;
 import dev.compactmods.crafting.api.field.MiniaturizationFieldSize;
 import dev.compactmods.crafting.api.recipe.IMiniaturizationRecipe;
+import dev.compactmods.crafting.api.recipe.layers.IRecipeBlocks;
+import dev.compactmods.crafting.core.CCCapabilities;
 import dev.compactmods.crafting.crafting.CraftingHelper;
-import dev.compactmods.crafting.events.WorldEventHandler;
 import dev.compactmods.crafting.network.FieldActivatedPacket;
+import dev.compactmods.crafting.network.FieldClearedPacket;
+import dev.compactmods.crafting.network.FieldCraftingStartedPacket;
 import dev.compactmods.crafting.network.FieldDeactivatedPacket;
 import dev.compactmods.crafting.network.FieldRecipeChangedPacket;
 import dev.compactmods.crafting.network.NetworkHandler;
 import dev.compactmods.crafting.projector.FieldProjectorBlock;
 import dev.compactmods.crafting.projector.FieldProjectorEntity;
 import dev.compactmods.crafting.recipes.MiniaturizationRecipe;
-import dev.compactmods.crafting.recipes.blocks.RecipeBlocks;
+import dev.compactmods.crafting.recipes.MiniaturizationRecipeIndex;
+import dev.compactmods.crafting.recipes.blocks.VoxelRecipeBlocks;
 import dev.compactmods.crafting.server.ServerConfig;
 import dev.compactmods.crafting.util.BlockSpaceUtil;
-import io.reactivex.rxjava3.disposables.Disposable;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
 import net.minecraft.core.Vec3i;
-import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.NbtUtils;
 import net.minecraft.nbt.Tag;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.item.Item;
@@ -42,9 +50,10 @@ import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.LevelAccessor;
 import net.minecraft.world.level.ServerLevelAccessor;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.entity.BlockEntity;
-import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.levelgen.structure.templatesystem.StructurePlaceSettings;
 import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
 import net.minecraft.world.phys.AABB;
@@ -57,10 +66,42 @@ public class MiniaturizationField implements IMiniaturizationField {
     private BlockPos center;
     private boolean loaded;
 
+    /**
+     * Packed positions of the chunks covering the field and its projectors. Bit i of
+     * {@link #loadedChunks} is set while areaChunks[i] is loaded.
+     */
+    private long[] areaChunks = new long[0];
+    private long loadedChunks;
+
+    @Nullable
+    private AABB bounds;
+
     @Nullable
     private MiniaturizationRecipe currentRecipe = null;
+    /**
+     * Full copy of the matched contents, only kept when they include block entities; the snapshot
+     * below can't carry block entity data.
+     */
+    @Nullable
     private StructureTemplate matchedBlocks;
-    private Set<Item> matchedCatalysts;
+
+    /**
+     * Field contents at the time the recipe matched; restored in bulk if the craft is interrupted.
+     */
+    @Nullable
+    private FieldSnapshot matchedSnapshot;
+
+    /**
+     * Saved matched snapshot read before the field had a level; decoded in {@link #setLevel}.
+     */
+    @Nullable
+    private CompoundTag matchedSnapshotData;
+    private Set<Item> matchedCatalysts = Collections.emptySet();
+
+    /**
+     * Game time of the next fallback catalyst lookup while matched. Item entity events bring it forward.
+     */
+    private long nextCatalystPoll;
 
     @Nullable
     private ResourceLocation recipeId = null;
@@ -71,12 +112,49 @@ public class MiniaturizationField implements IMiniaturizationField {
     private Level level;
     private int craftingProgress = 0;
 
+    /**
+     * Client side only; the game time crafting started at and how long it takes. Clients don't tick
+     * fields, so progress is worked out from these and the synced game time.
+     */
+    private long craftingStartTime;
+    private int craftingDuration;
+
+    /**
+     * Longest a field sleeps between ticks when nothing wakes it; a safety net for missed wakeups.
+     */
+    private static final int IDLE_TICK_DELAY = 100;
+
+    private final FieldContents contents = new FieldContents();
+
+    /**
+     * Set while the field writes its own blocks; the neighbor updates those writes cause are not edits.
+     */
+    private boolean writingBlocks = false;
+
+    /**
+     * Content revision the last completed scan ran against, and whether it found a recipe.
+     */
+    private int scannedRevision = -1;
+    private boolean scannedMatch = false;
+
+    /**
+     * Bumped whenever the field changes; a background scan submitted under an older generation is stale.
+     */
+    private int scanGeneration = 0;
+
+    @Nullable
+    private CompletableFuture<MiniaturizationRecipe> pendingScan;
+    private FieldSnapshot pendingSnapshot;
+    private RecipeMatchCache.Key pendingKey;
+    private int pendingGeneration;
+
+    private final RecipeMatchCache matchCache = new RecipeMatchCache();
+    private final FieldChangePublisher changes = new FieldChangePublisher();
+
     private final HashSet<LazyOptional<IFieldListener>> listeners = new HashSet<>();
     private LazyOptional<IMiniaturizationField> lazyReference = LazyOptional.empty();
     private boolean disabled = false;
 
-    private static Disposable CHUNK_LISTENER;
-
     public MiniaturizationField() {
     }
 
@@ -84,8 +162,7 @@ public class MiniaturizationField implements IMiniaturizationField {
         this.center = center;
         this.size = size;
         this.craftingState = EnumCraftingState.NOT_MATCHED;
-
-        setupChunkListener();
+        updateAreaChunks();
     }
 
     public MiniaturizationField(CompoundTag nbt) {
@@ -93,8 +170,7 @@ public class MiniaturizationField implements IMiniaturizationField {
 
         this.center = NbtUtils.readBlockPos(nbt.getCompound("center"));
         this.size = MiniaturizationFieldSize.valueOf(nbt.getString("size"));
-
-        setupChunkListener();
+        updateAreaChunks();
 
         // temp load recipe
         if (nbt.contains("recipe")) {
@@ -102,33 +178,94 @@ public class MiniaturizationField implements IMiniaturizationField {
             this.craftingProgress = nbt.getInt("progress");
         }
 
+        if (nbt.contains("matchedSnapshot")) {
+            this.matchedSnapshotData = nbt.getCompound("matchedSnapshot");
+        }
+
         if (nbt.contains("matchedBlocks")) {
-            StructureTemplate t = new StructureTemplate();
-            t.load(nbt.getCompound("matchedBlocks"));
-            this.matchedBlocks = t;
-        } else {
-            this.matchedBlocks = null;
+            // Fields saved before snapshots were persisted; convert unless block entity data needs the template
+            final int dims = size.getDimensions();
+            final CompoundTag converted = FieldSnapshot.convertTemplate(nbt.getCompound("matchedBlocks"), dims, dims, dims);
+            if (converted != null) {
+                this.matchedSnapshotData = converted;
+            } else {
+                StructureTemplate t = new StructureTemplate();
+                t.load(nbt.getCompound("matchedBlocks"));
+                this.matchedBlocks = t;
+            }
         }
 
         this.disabled = nbt.contains("disabled") && nbt.getBoolean("disabled");
     }
 
-    private void setupChunkListener() {
-        // add projector and central chunks
-        final Set<ChunkPos> insideChunks = getProjectorPositions().map(ChunkPos::new).collect(Collectors.toSet());
-        insideChunks.add(new ChunkPos(center));
+    @Override
+    public void onChunkLoadChanged(ChunkPos chunk, boolean loaded) {
+        final long key = chunk.toLong();
+        for (int i = 0; i < areaChunks.length; i++) {
+            if (areaChunks[i] != key)
+                continue;
+
+            if (loaded)
+                loadedChunks |= 1L << i;
+            else
+                loadedChunks &= ~(1L << i);
 
-        CHUNK_LISTENER = WorldEventHandler.CHUNK_CHANGES.filter(ce -> {
-            boolean sameLevel = ((LevelChunk) ce.getChunk()).getLevel().dimension().equals(level.dimension());
-            boolean watchedChunk = insideChunks.contains(ce.getChunk().getPos());
-            return sameLevel && watchedChunk;
-        }).subscribe((changed) -> this.checkLoaded());
+            break;
+        }
+
+        final boolean wasLoaded = this.loaded;
+        this.loaded = loadedChunks == allChunksMask();
+        if (this.loaded == wasLoaded)
+            return;
+
+        requestTick();
+        if (this.loaded)
+            listeners.forEach(l -> l.ifPresent(fl -> fl.onFieldActivated(this)));
+    }
+
+    @Override
+    public LongStream getDependentChunks() {
+        return LongStream.of(areaChunks);
+    }
+
+    /**
+     * Works out which chunks the field needs loaded; the same area {@link Level#isAreaLoaded} would check.
+     */
+    private void updateAreaChunks() {
+        if (center == null || size == null)
+            return;
+
+        final int radius = size.getProjectorDistance() + 3;
+        final int minX = SectionPos.blockToSectionCoord(center.getX() - radius);
+        final int maxX = SectionPos.blockToSectionCoord(center.getX() + radius);
+        final int minZ = SectionPos.blockToSectionCoord(center.getZ() - radius);
+        final int maxZ = SectionPos.blockToSectionCoord(center.getZ() + radius);
+
+        final long[] chunks = new long[(maxX - minX + 1) * (maxZ - minZ + 1)];
+        int i = 0;
+        for (int x = minX; x <= maxX; x++)
+            for (int z = minZ; z <= maxZ; z++)
+                chunks[i++] = ChunkPos.asLong(x, z);
+
+        this.areaChunks = chunks;
+        this.loadedChunks = 0;
+        this.loaded = false;
+    }
+
+    private long allChunksMask() {
+        return (1L << areaChunks.length) - 1;
     }
 
     @Override
     public void dispose() {
-        if (!CHUNK_LISTENER.isDisposed())
-            CHUNK_LISTENER.dispose();
+        if (level == null)
+            return;
+
+        // Make sure the level stops routing chunk changes to us, even if nobody unregistered the field first
+        level.getCapability(CCCapabilities.FIELDS).ifPresent(fields -> {
+            if (fields.get(center).orElse(null) == this)
+                fields.unregisterField(center);
+        });
     }
 
     public static MiniaturizationField fromSizeAndCenter(MiniaturizationFieldSize fieldSize, BlockPos center) {
@@ -146,11 +283,19 @@ public class MiniaturizationField implements IMiniaturizationField {
     @Override
     public void setCenter(BlockPos center) {
         this.center = center;
+        this.bounds = null;
+        updateAreaChunks();
+        contents.markAllDirty();
+        scanGeneration++;
     }
 
     @Override
     public void setSize(MiniaturizationFieldSize size) {
         this.size = size;
+        this.bounds = null;
+        updateAreaChunks();
+        contents.markAllDirty();
+        scanGeneration++;
     }
 
     @Override
@@ -158,13 +303,34 @@ public class MiniaturizationField implements IMiniaturizationField {
         if (craftingState != EnumCraftingState.CRAFTING)
             return 0;
 
+        if (level != null && level.isClientSide)
+            return (int) Mth.clamp(level.getGameTime() - craftingStartTime, 0, craftingDuration);
+
         return craftingProgress;
     }
 
+    /**
+     * Client side; starts the crafting animation from the server's start time. Progress stops at the
+     * crafting time and the recipe is cleared when the server finishes the craft.
+     */
+    public void startCrafting(long startTime, int craftingTime) {
+        this.craftingStartTime = startTime;
+        this.craftingDuration = craftingTime;
+        setCraftingState(EnumCraftingState.CRAFTING);
+    }
+
     @Override
     public void setLevel(Level level) {
         this.level = level;
 
+        if (matchedSnapshotData != null) {
+            this.matchedSnapshot = FieldSnapshot.load(matchedSnapshotData, getBounds(), level);
+            if (matchedSnapshot == null)
+                CompactCrafting.LOGGER.warn("Discarding unreadable matched blocks for field at {}", center);
+
+            this.matchedSnapshotData = null;
+        }
+
         getRecipeFromId();
     }
 
@@ -182,10 +348,7 @@ public class MiniaturizationField implements IMiniaturizationField {
                 if (craftingState == EnumCraftingState.NOT_MATCHED)
                     setCraftingState(EnumCraftingState.MATCHED);
 
-                this.listeners.forEach(li -> li.ifPresent(l -> {
-                    l.onRecipeChanged(this, this.currentRecipe);
-                    l.onRecipeMatched(this, this.currentRecipe);
-                }));
+                publishRecipe();
             });
         } else {
             clearRecipe();
@@ -198,7 +361,11 @@ public class MiniaturizationField implements IMiniaturizationField {
     }
 
     public AABB getBounds() {
-        return this.size.getBoundsAtPosition(center);
+        // AABBs are immutable; rebuilt only when the center or size changes
+        if (bounds == null)
+            bounds = this.size.getBoundsAtPosition(center);
+
+        return bounds;
     }
 
     public Stream<BlockPos> getFilledBlocks() {
@@ -208,23 +375,78 @@ public class MiniaturizationField implements IMiniaturizationField {
     }
 
     public AABB getFilledBounds() {
-        BlockPos[] filled = getFilledBlocks().toArray(BlockPos[]::new);
-        return BlockSpaceUtil.getBoundsForBlocks(filled);
+        return FieldSnapshot.capture(level, getBounds()).getFilledBounds();
     }
 
     public void clearBlocks() {
-        // Remove blocks from the world
-        getFilledBlocks()
-                .sorted(Comparator.comparingInt(Vec3i::getY).reversed()) // top down so stuff like redstone doesn't drop as items
-                .forEach(blockPos -> {
-                    level.setBlock(blockPos, Blocks.AIR.defaultBlockState(), 7);
-
-                    if (level instanceof ServerLevel) {
-                        ((ServerLevel) level).sendParticles(ParticleTypes.LARGE_SMOKE,
-                                blockPos.getX() + 0.5f, blockPos.getY() + 0.5f, blockPos.getZ() + 0.5f,
-                                1, 0d, 0.05D, 0D, 0.25d);
+        // top down so stuff like redstone doesn't drop as items
+        final BlockPos[] filled = getFilledBlocks()
+                .sorted(Comparator.comparingInt(Vec3i::getY).reversed())
+                .toArray(BlockPos[]::new);
+
+        if (!(level instanceof ServerLevel serverLevel)) {
+            for (BlockPos pos : filled)
+                level.setBlock(pos, Blocks.AIR.defaultBlockState(), 7);
+
+            contents.markAllDirty();
+            return;
+        }
+
+        this.writingBlocks = true;
+        try {
+            final FieldBlockWriter writer = new FieldBlockWriter(serverLevel, getBounds());
+            for (BlockPos pos : filled)
+                writer.set(pos, Blocks.AIR.defaultBlockState());
+
+            writer.finish();
+        } finally {
+            this.writingBlocks = false;
+        }
+
+        // Most of our own writes skip block events, so the content model never hears about them
+        contents.markAllDirty();
+
+        // One packet for the whole smoke effect; clients spawn the particles themselves
+        NetworkHandler.MAIN_CHANNEL.send(
+                PacketDistributor.TRACKING_CHUNK.with(() -> serverLevel.getChunkAt(center)),
+                new FieldClearedPacket(getBounds(), filled));
+    }
+
+    /**
+     * Puts the blocks that were consumed at the start of a craft back into the field.
+     */
+    private void restoreMatchedBlocks() {
+        if (matchedBlocks == null && matchedSnapshot != null && level instanceof ServerLevel serverLevel) {
+            final FieldBlockWriter writer = new FieldBlockWriter(serverLevel, getBounds());
+            final AABB snapshotBounds = matchedSnapshot.getBounds();
+            final BlockPos origin = new BlockPos(snapshotBounds.minX, snapshotBounds.minY, snapshotBounds.minZ);
+
+            // Bottom up so blocks that need support are placed after what they rest on; air is skipped
+            for (int y = 0; y < matchedSnapshot.getSizeY(); y++) {
+                for (int z = 0; z < matchedSnapshot.getSizeZ(); z++) {
+                    for (int x = 0; x < matchedSnapshot.getSizeX(); x++) {
+                        final BlockState state = matchedSnapshot.getPalette().get(matchedSnapshot.getPaletteIndex(x, y, z));
+                        if (!state.isAir())
+                            writer.set(origin.offset(x, y, z), state);
                     }
-                });
+                }
+            }
+
+            writer.finish();
+            contents.markAllDirty();
+            return;
+        }
+
+        if (matchedBlocks == null)
+            return;
+
+        // Block entity data only lives in the template; neighbours are updated like the bulk writer's edges
+        AABB bounds = getBounds();
+        BlockPos placeAt = new BlockPos(bounds.minX, bounds.minY, bounds.minZ);
+        matchedBlocks.placeInWorld((ServerLevelAccessor) level, placeAt, placeAt,
+                new StructurePlaceSettings(), level.random, Block.UPDATE_ALL);
+
+        contents.markAllDirty();
     }
 
     public Optional<IMiniaturizationRecipe> getCurrentRecipe() {
@@ -234,14 +456,50 @@ public class MiniaturizationField implements IMiniaturizationField {
     @Override
     public void clearRecipe() {
         this.recipeId = null;
+        this.matchedSnapshot = null;
         this.currentRecipe = null;
         this.craftingProgress = 0;
         setCraftingState(EnumCraftingState.NOT_MATCHED);
 
-        listeners.forEach(l -> l.ifPresent(listener -> {
-            listener.onRecipeChanged(this, this.currentRecipe);
-            listener.onRecipeCleared(this);
-        }));
+        publishRecipe();
+    }
+
+    /**
+     * Tells listeners and tracking clients about the current recipe. Nothing is sent if they already
+     * have it; the client packet goes out at the end of the field's next tick.
+     */
+    private void publishRecipe() {
+        final MiniaturizationRecipe recipe = this.currentRecipe;
+        if (changes.publish(recipe == null ? null : recipe.getRecipeIdentifier())) {
+            listeners.forEach(l -> l.ifPresent(fl -> {
+                fl.onRecipeChanged(this, recipe);
+
+                if (recipe != null)
+                    fl.onRecipeMatched(this, recipe);
+                else
+                    fl.onRecipeCleared(this);
+            }));
+        }
+
+        if (level != null && !level.isClientSide) {
+            changes.queueSync();
+            requestTick();
+        }
+    }
+
+    private void flushRecipeSync() {
+        final ResourceLocation recipe = currentRecipe == null ? null : currentRecipe.getRecipeIdentifier();
+        if (!changes.flushSync(recipe))
+            return;
+
+        NetworkHandler.MAIN_CHANNEL.send(
+                PacketDistributor.TRACKING_CHUNK.with(() -> level.getChunkAt(center)),
+                new FieldRecipeChangedPacket(this, level.getRecipeManager())
+        );
+    }
+
+    public FieldChangePublisher getChangePublisher() {
+        return changes;
     }
 
     @Override
@@ -254,15 +512,63 @@ public class MiniaturizationField implements IMiniaturizationField {
         if (level == null || this.disabled)
             return;
 
+        // Apply a finished background scan; dropped if the field changed after it was submitted
+        if (pendingScan != null && pendingScan.isDone())
+            completePendingScan();
+
         // Set in a block update handler to mark that the field has changed
         if (rescanTime > 0 && level.getGameTime() >= rescanTime) {
-            doRecipeScan();
             this.rescanTime = 0;
-            return;
+            queueScan();
+        } else if (isLoaded()) {
+            // Kept up to date by chunk events; no chunk lookups needed here
+            tickCrafting();
         }
 
-        if (getProjectorPositions().allMatch(level::isLoaded))
-            tickCrafting();
+        // Recipe changes since the last tick go out as one packet
+        if (!level.isClientSide)
+            flushRecipeSync();
+    }
+
+    @Override
+    public int getTickDelay() {
+        if (level == null)
+            return 1;
+
+        // Client fields aren't ticked; everything they show comes from server packets
+        if (level.isClientSide)
+            return IDLE_TICK_DELAY;
+
+        if (disabled || !loaded)
+            return IDLE_TICK_DELAY;
+
+        if (pendingScan != null || changes.isSyncPending())
+            return 1;
+
+        if (rescanTime > 0)
+            return (int) Math.max(1, Math.min(IDLE_TICK_DELAY, rescanTime - level.getGameTime()));
+
+        switch (craftingState) {
+            case CRAFTING:
+                return 1;
+
+            case MATCHED:
+                // Woken early by onItemEntityNearby when a catalyst shows up
+                return (int) Math.max(1, Math.min(IDLE_TICK_DELAY, nextCatalystPoll - level.getGameTime()));
+
+            default:
+                return IDLE_TICK_DELAY;
+        }
+    }
+
+    /**
+     * Asks the level to tick this field on the next tick, in case it is asleep.
+     */
+    private void requestTick() {
+        if (level == null)
+            return;
+
+        level.getCapability(CCCapabilities.FIELDS).ifPresent(fields -> fields.wakeField(this));
     }
 
     private void tickCrafting() {
@@ -274,10 +580,14 @@ public class MiniaturizationField implements IMiniaturizationField {
 
         switch (craftingState) {
             case MATCHED:
+                if (level.getGameTime() < nextCatalystPoll)
+                    break;
+
+                this.nextCatalystPoll = level.getGameTime() + ServerConfig.CATALYST_POLL_INTERVAL.get();
 
                 // We grow the bounds check here a little to support patterns that are exactly the size of the field
                 List<ItemEntity> catalystEntities = getCatalystsInField(level, fieldBounds.inflate(0.25), currentRecipe.getCatalyst());
-                if (catalystEntities.size() > 0) {
+                if (!catalystEntities.isEmpty()) {
 
                     matchedCatalysts = catalystEntities.stream()
                             .map((ItemEntity t) -> t.getItem().getItem())
@@ -292,6 +602,16 @@ public class MiniaturizationField implements IMiniaturizationField {
                     }
 
                     setCraftingState(EnumCraftingState.CRAFTING);
+
+                    if (!level.isClientSide) {
+                        // Clients need the recipe before they can show it crafting
+                        flushRecipeSync();
+
+                        NetworkHandler.MAIN_CHANNEL.send(
+                                PacketDistributor.TRACKING_CHUNK.with(() -> level.getChunkAt(center)),
+                                new FieldCraftingStartedPacket(center, level.getGameTime() - craftingProgress, currentRecipe.getCraftingTime())
+                        );
+                    }
                 }
 
                 break;
@@ -308,6 +628,9 @@ public class MiniaturizationField implements IMiniaturizationField {
 
                     clearRecipe();
 
+                    // The recipe's blocks were consumed when crafting started; nothing in the model is current
+                    contents.markAllDirty();
+
                     listeners.forEach(l -> l.ifPresent(listener -> listener.onRecipeCompleted(this, completed)));
                 }
 
@@ -315,9 +638,21 @@ public class MiniaturizationField implements IMiniaturizationField {
         }
     }
 
+    /**
+     * Hands the scan to the level's scan queue, which limits how many fields scan in a single tick.
+     */
+    private void queueScan() {
+        final Optional<IActiveWorldFields> fields = level.getCapability(CCCapabilities.FIELDS).resolve();
+        if (fields.isPresent())
+            fields.get().queueScan(this);
+        else
+            doRecipeScan();
+    }
+
     /**
      * Scans the field and attempts to match a recipe that's placed in it.
      */
+    @Override
     public void doRecipeScan() {
         if (level == null)
             return;
@@ -325,98 +660,169 @@ public class MiniaturizationField implements IMiniaturizationField {
         if (ServerConfig.FIELD_BLOCK_CHANGES.get())
             CompactCrafting.LOGGER.debug("Beginning field recipe scan: {}", this.center);
 
-        Stream<BlockPos> filledBlocks = getFilledBlocks();
+        // Anything still running in the background is for older contents
+        this.pendingScan = null;
+        this.pendingSnapshot = null;
+        this.pendingKey = null;
+
+        // Bring the content model up to date; only positions changed since the last scan are read
+        final FieldSnapshot snapshot = contents.refresh(level, getBounds());
+
+        // Nothing changed since a scan that didn't find anything; it won't find anything now either
+        if (contents.getRevision() == scannedRevision && !scannedMatch)
+            return;
 
         // If no positions filled, exit early
-        if (!filledBlocks.findAny().isPresent()) {
+        if (snapshot.isEmpty()) {
+            recordScan(false);
             clearRecipe();
             return;
         }
 
-        // ===========================================================================================================
-        //   RECIPE BEGIN
-        // ===========================================================================================================
+        final MiniaturizationRecipeIndex index = MiniaturizationRecipeIndex.get(level.getRecipeManager());
 
-        AABB filledBounds = getFilledBounds();
+        // Same structure as a previous scan (in any rotation); reuse its result, matched or not
+        final RecipeMatchCache.Key key = RecipeMatchCache.key(snapshot);
+        final RecipeMatchCache.Entry cached = matchCache.get(index, key);
+        if (cached != null) {
+            applyScanResult(snapshot, null, cached.getRecipe());
+            return;
+        }
 
         /*
          * Dry run - we have the data from the field on what's filled and how large
-         * the area is. Run through the recipe list and filter based on that, so
-         * we remove all the recipes that are definitely larger than the currently
-         * filled space.
+         * the area is. Use the recipe index to remove every recipe that can't use the
+         * blocks in the field, isn't exactly the filled size, or needs more of a
+         * component than the field has.
          */
-        Set<MiniaturizationRecipe> recipes = level.getRecipeManager()
-                .getAllRecipesFor(CCMiniaturizationRecipes.MINIATURIZATION_RECIPE.get())
-                .stream()
-                .filter(recipe -> BlockSpaceUtil.boundsFitsInside(recipe.getDimensions(), filledBounds))
-                .collect(Collectors.toSet());
+        final List<MiniaturizationRecipe> candidates = index.getCandidates(snapshot);
+
+        CompactCrafting.LOGGER.trace("Matched a total of {} possible recipes.", candidates.size());
+
+        // Only the structural matching moves off-thread; it reads nothing but the snapshot and recipes
+        if (!level.isClientSide && AsyncRecipeMatcher.isEnabled()) {
+            final CompletableFuture<MiniaturizationRecipe> match = AsyncRecipeMatcher.submit(() -> findMatchingRecipe(snapshot, candidates));
+            if (match != null) {
+                this.pendingScan = match;
+                this.pendingSnapshot = snapshot;
+                this.pendingKey = key;
+                this.pendingGeneration = scanGeneration;
+                return;
+            }
+        }
 
-        /*
-         * All the recipes we have registered won't fit in the filled bounds -
-         * blocks were placed in a larger space than the max recipe size
-         */
-        CompactCrafting.LOGGER.trace("Matched a total of {} possible recipes.", recipes.size());
-        if (recipes.isEmpty()) {
-            clearRecipe();
+        applyScanResult(snapshot, key, findMatchingRecipe(snapshot, candidates));
+    }
+
+    private void completePendingScan() {
+        final CompletableFuture<MiniaturizationRecipe> scan = this.pendingScan;
+        final FieldSnapshot snapshot = this.pendingSnapshot;
+        RecipeMatchCache.Key key = this.pendingKey;
+        this.pendingScan = null;
+        this.pendingSnapshot = null;
+        this.pendingKey = null;
+
+        if (pendingGeneration != scanGeneration)
             return;
+
+        MiniaturizationRecipe matched;
+        try {
+            matched = scan.join();
+        } catch (CompletionException | CancellationException e) {
+            CompactCrafting.LOGGER.error("Background recipe scan failed for field at {}.", center, e);
+            matched = null;
+            key = null;
         }
 
-        // Begin recipe dry run - loop, check bottom layer for matches
+        applyScanResult(snapshot, key, matched);
+    }
+
+    /**
+     * @param key Cache key for the snapshot if the result came from a fresh match and should be cached.
+     */
+    private void applyScanResult(FieldSnapshot snapshot, @Nullable RecipeMatchCache.Key key, @Nullable MiniaturizationRecipe matched) {
+        // ===========================================================================================================
+        //   RECIPE BEGIN
+        // ===========================================================================================================
+
         this.currentRecipe = null;
         this.recipeId = null;
         this.craftingProgress = 0;
 
+        if (key != null)
+            matchCache.put(key, matched);
 
-        for (MiniaturizationRecipe recipe : recipes) {
-
-            RecipeBlocks blocks = RecipeBlocks.create(level, recipe.getComponents(), filledBounds);
-            boolean recipeMatches = recipe.matches(blocks);
-            if (!recipeMatches)
-                continue;
+        recordScan(matched != null);
+        if (matched != null) {
+            this.matchedSnapshot = snapshot;
+            this.matchedBlocks = null;
 
-            this.matchedBlocks = new StructureTemplate();
+            if (snapshot.hasBlockEntities()) {
+                this.matchedBlocks = new StructureTemplate();
 
-            final AABB fieldBounds = size.getBoundsAtPosition(center);
-            BlockPos minPos = new BlockPos(fieldBounds.minX, fieldBounds.minY, fieldBounds.minZ);
+                final AABB fieldBounds = size.getBoundsAtPosition(center);
+                BlockPos minPos = new BlockPos(fieldBounds.minX, fieldBounds.minY, fieldBounds.minZ);
 
-            // boolean here is to capture entities - TODO maybe
-            matchedBlocks.fillFromWorld(level, minPos, size.getBoundsAsBlockPos(), false, null);
+                // boolean here is to capture entities - TODO maybe
+                matchedBlocks.fillFromWorld(level, minPos, size.getBoundsAsBlockPos(), false, null);
+            }
 
-            this.currentRecipe = recipe;
+            this.currentRecipe = matched;
             this.recipeId = currentRecipe.getRecipeIdentifier();
-            break;
         }
 
         setCraftingState(currentRecipe != null ? EnumCraftingState.MATCHED : EnumCraftingState.NOT_MATCHED);
+        publishRecipe();
+    }
 
-        // Send tracking client updates
-        if (!level.isClientSide) {
-            NetworkHandler.MAIN_CHANNEL.send(
-                    PacketDistributor.TRACKING_CHUNK.with(() -> level.getChunkAt(center)),
-                    new FieldRecipeChangedPacket(this)
-            );
-        }
+    public RecipeMatchCache getMatchCache() {
+        return matchCache;
+    }
+
+    private void recordScan(boolean foundMatch) {
+        this.scannedRevision = contents.getRevision();
+        this.scannedMatch = foundMatch;
+    }
 
-        // Update all listeners as well
-        final MiniaturizationRecipe finalMatchedRecipe = this.currentRecipe;
-        listeners.forEach(l -> l.ifPresent(fl -> {
-            fl.onRecipeChanged(this, finalMatchedRecipe);
+    /**
+     * Runs the structural match for each candidate. Only reads the snapshot and the (shared, immutable)
+     * recipes, so it is safe to call from a matching worker thread.
+     */
+    @Nullable
+    private static MiniaturizationRecipe findMatchingRecipe(FieldSnapshot snapshot, List<MiniaturizationRecipe> candidates) {
+        final AABB filledBounds = snapshot.getFilledBounds();
+        for (MiniaturizationRecipe recipe : candidates) {
+            IRecipeBlocks blocks = VoxelRecipeBlocks.create(snapshot, recipe.getComponents(), filledBounds);
+            if (recipe.matches(blocks))
+                return recipe;
+        }
 
-            if (craftingState == EnumCraftingState.MATCHED)
-                fl.onRecipeMatched(this, finalMatchedRecipe);
-        }));
+        return null;
     }
 
     @Override
     public void setCraftingState(EnumCraftingState state) {
         this.craftingState = state;
+
+        // Look for a catalyst that was already sitting in the field right away
+        if (state == EnumCraftingState.MATCHED)
+            this.nextCatalystPoll = 0;
+    }
+
+    @Override
+    public void onItemEntityNearby(ItemEntity item) {
+        if (craftingState != EnumCraftingState.MATCHED || currentRecipe == null)
+            return;
+
+        if (!currentRecipe.getCatalyst().matches(item.getItem()))
+            return;
+
+        this.nextCatalystPoll = 0;
+        requestTick();
     }
 
     private List<ItemEntity> getCatalystsInField(LevelAccessor level, AABB fieldBounds, ICatalystMatcher itemFilter) {
-        List<ItemEntity> itemsInRange = level.getEntitiesOfClass(ItemEntity.class, fieldBounds);
-        return itemsInRange.stream()
-                .filter(ise -> itemFilter.matches(ise.getItem()))
-                .collect(Collectors.toList());
+        return level.getEntitiesOfClass(ItemEntity.class, fieldBounds, ise -> itemFilter.matches(ise.getItem()));
     }
 
     @Override
@@ -426,7 +832,14 @@ public class MiniaturizationField implements IMiniaturizationField {
 
     public void checkLoaded() {
         CompactCrafting.LOGGER.debug("Checking loaded state.");
-        this.loaded = level.isAreaLoaded(center, size.getProjectorDistance() + 3);
+        this.loadedChunks = 0;
+        for (int i = 0; i < areaChunks.length; i++) {
+            if (level.hasChunk(ChunkPos.getX(areaChunks[i]), ChunkPos.getZ(areaChunks[i])))
+                loadedChunks |= 1L << i;
+        }
+
+        this.loaded = loadedChunks == allChunksMask();
+        requestTick();
 
         if (loaded) {
             listeners.forEach(l -> l.ifPresent(fl -> fl.onFieldActivated(this)));
@@ -435,11 +848,29 @@ public class MiniaturizationField implements IMiniaturizationField {
 
     @Override
     public void fieldContentsChanged() {
+        // No position to go on; the next scan reads the whole field
+        contents.markAllDirty();
+        scheduleRescan();
+    }
+
+    @Override
+    public void fieldContentsChanged(BlockPos pos) {
+        if (writingBlocks)
+            return;
+
+        contents.markDirty(pos);
+        scheduleRescan();
+    }
+
+    private void scheduleRescan() {
+        scanGeneration++;
+
         // clear the recipe immediately so people can't dupe items or break the projectors
         this.clearRecipe();
 
         // set a distant rescan duration to make the field revalidate itself after a second or two
         this.rescanTime = level.getGameTime() + 30;
+        requestTick();
     }
 
     @Override
@@ -464,6 +895,12 @@ public class MiniaturizationField implements IMiniaturizationField {
             nbt.putInt("progress", craftingProgress);
         }
 
+        if (matchedSnapshot != null) {
+            nbt.put("matchedSnapshot", matchedSnapshot.save());
+        } else if (matchedSnapshotData != null) {
+            nbt.put("matchedSnapshot", matchedSnapshotData);
+        }
+
         if (matchedBlocks != null) {
             nbt.put("matchedBlocks", matchedBlocks.save(new CompoundTag()));
         }
@@ -476,6 +913,12 @@ public class MiniaturizationField implements IMiniaturizationField {
     @Override
     public void setProgress(int progress) {
         this.craftingProgress = progress;
+
+        // Progress from a full sync; anchor it to the current game time
+        if (level != null && level.isClientSide) {
+            this.craftingStartTime = level.getGameTime() - progress;
+            this.craftingDuration = currentRecipe != null ? currentRecipe.getCraftingTime() : progress;
+        }
     }
 
     @Override
@@ -486,7 +929,7 @@ public class MiniaturizationField implements IMiniaturizationField {
 
     @Override
     public void handleDestabilize() {
-        if (craftingState != EnumCraftingState.CRAFTING || matchedBlocks == null)
+        if (craftingState != EnumCraftingState.CRAFTING || (matchedBlocks == null && matchedSnapshot == null))
             return;
 
         if (level.isClientSide) return;
@@ -514,13 +957,8 @@ public class MiniaturizationField implements IMiniaturizationField {
                 break;
         }
 
-        if (restoreBlocks) {
-            AABB bounds = getBounds();
-            BlockPos placeAt = new BlockPos(bounds.minX, bounds.minY, bounds.minZ);
-            // TODO - Check the const here, 2 may be wrong
-            matchedBlocks.placeInWorld((ServerLevelAccessor) level, placeAt, placeAt,
-                    new StructurePlaceSettings(), level.random, 2);
-        }
+        if (restoreBlocks)
+            restoreMatchedBlocks();
 
         if (currentRecipe != null) {
             final ICatalystMatcher catalyst = currentRecipe.getCatalyst();
@@ -576,7 +1014,7 @@ public class MiniaturizationField implements IMiniaturizationField {
             }
         });
 
-        FieldActivatedPacket update = new FieldActivatedPacket(this);
+        FieldActivatedPacket update = new FieldActivatedPacket(this, level.getRecipeManager());
         NetworkHandler.MAIN_CHANNEL.send(
                 PacketDistributor.TRACKING_CHUNK.with(() -> level.getChunkAt(center)), update);
     }
@@ -613,8 +1051,8 @@ public class MiniaturizationField implements IMiniaturizationField {
     @Override
     public void deserializeNBT(Tag nbt) {
         if (nbt instanceof CompoundTag fieldInfo) {
-            this.center = NbtUtils.readBlockPos(fieldInfo.getCompound("center"));
-            this.size = MiniaturizationFieldSize.valueOf(fieldInfo.getString("size"));
+            setCenter(NbtUtils.readBlockPos(fieldInfo.getCompound("center")));
+            setSize(MiniaturizationFieldSize.valueOf(fieldInfo.getString("size")));
 
             if (fieldInfo.contains("craftingState")) {
                 this.craftingState = EnumCraftingState.valueOf(fieldInfo.getString("craftingState"));
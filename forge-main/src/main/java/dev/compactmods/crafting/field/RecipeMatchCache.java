@@ -0,0 +1,216 @@
+package dev.compactmods.crafting.field;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import dev.compactmods.crafting.recipes.MiniaturizationRecipe;
+import dev.compactmods.crafting.recipes.MiniaturizationRecipeIndex;
+import it.unimi.dsi.fastutil.HashCommon;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.AABB;
+
+/**
+ * Small LRU cache of previous scan results for a field, keyed on the filled contents of the field
+ * in a rotation-independent form. Automation that keeps building the same structure gets its recipe
+ * (or the knowledge that nothing matches) without running the structural match again.
+ *
+ * Bound to the recipe index it was filled against; when recipes reload the index is replaced and
+ * the cache empties itself on the next lookup.
+ */
+public class RecipeMatchCache {
+
+    private static final int CAPACITY = 32;
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+
+    @Nullable
+    private MiniaturizationRecipeIndex boundIndex;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Looks up a previous result for the given contents. Entries are compared position by position
+     * against the key, so a hash collision is treated as a miss.
+     *
+     * @return The cached result, or null on a miss. A cached result may itself hold no recipe.
+     */
+    @Nullable
+    public Entry get(MiniaturizationRecipeIndex index, Key key) {
+        if (boundIndex != index) {
+            entries.clear();
+            boundIndex = index;
+        }
+
+        final Entry entry = entries.get(key.hash);
+        if (entry == null || !entry.key.sameContents(key)) {
+            misses++;
+            return null;
+        }
+
+        hits++;
+        return entry;
+    }
+
+    public void put(Key key, @Nullable MiniaturizationRecipe recipe) {
+        entries.put(key.hash, new Entry(key, recipe));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Builds the rotation-independent key for the filled area of a snapshot. Every rotation the
+     * recipe matcher could accept is hashed and the lowest hash wins; footprints that aren't square
+     * only consider the rotations that keep their size, same as the matcher.
+     */
+    public static Key key(FieldSnapshot snapshot) {
+        final AABB filled = snapshot.getFilledBounds();
+        final AABB bounds = snapshot.getBounds();
+        final int offX = (int) Math.round(filled.minX - bounds.minX);
+        final int offY = (int) Math.round(filled.minY - bounds.minY);
+        final int offZ = (int) Math.round(filled.minZ - bounds.minZ);
+        final int w = (int) Math.round(filled.getXsize());
+        final int h = (int) Math.round(filled.getYsize());
+        final int d = (int) Math.round(filled.getZsize());
+
+        // Palette entries resolved to global state ids once, so keys compare across snapshots
+        final List<BlockState> palette = snapshot.getPalette();
+        final int[] ids = new int[palette.size()];
+        for (int i = 0; i < ids.length; i++)
+            ids[i] = Block.getId(palette.get(i));
+
+        final int rotations = w == d ? 4 : 2;
+        int best = 0;
+        long bestHash = 0;
+        for (int r = 0; r < rotations; r++) {
+            // Non-square footprints only get the identity and 180 degree turn
+            final int rotation = w == d ? r : r * 2;
+            final long hash = hash(snapshot, ids, rotation, offX, offY, offZ, w, h, d);
+            if (r == 0 || Long.compareUnsigned(hash, bestHash) < 0) {
+                best = rotation;
+                bestHash = hash;
+            }
+        }
+
+        final boolean swapped = best % 2 == 1;
+        final int sizeX = swapped ? d : w;
+        final int sizeZ = swapped ? w : d;
+        final int[] states = new int[sizeX * h * sizeZ];
+
+        int index = 0;
+        for (int y = 0; y < h; y++)
+            for (int z = 0; z < sizeZ; z++)
+                for (int x = 0; x < sizeX; x++, index++)
+                    states[index] = ids[paletteIndex(snapshot, best, x, y, z, offX, offY, offZ, w, d)];
+
+        return new Key(bestHash, sizeX, h, sizeZ, states);
+    }
+
+    private static long hash(FieldSnapshot snapshot, int[] ids, int rotation,
+                             int offX, int offY, int offZ, int w, int h, int d) {
+        final boolean swapped = rotation % 2 == 1;
+        final int sizeX = swapped ? d : w;
+        final int sizeZ = swapped ? w : d;
+
+        long hash = HashCommon.mix(((long) sizeX << 42) | ((long) h << 21) | sizeZ);
+        for (int y = 0; y < h; y++)
+            for (int z = 0; z < sizeZ; z++)
+                for (int x = 0; x < sizeX; x++)
+                    hash = HashCommon.mix(hash * 31 + ids[paletteIndex(snapshot, rotation, x, y, z, offX, offY, offZ, w, d)]);
+
+        return hash;
+    }
+
+    /**
+     * Reads the palette index at a position of the filled area after turning it by rotation quarter turns.
+     */
+    private static int paletteIndex(FieldSnapshot snapshot, int rotation, int x, int y, int z,
+                                    int offX, int offY, int offZ, int w, int d) {
+        int sx, sz;
+        switch (rotation) {
+            case 1:
+                sx = z;
+                sz = d - 1 - x;
+                break;
+
+            case 2:
+                sx = w - 1 - x;
+                sz = d - 1 - z;
+                break;
+
+            case 3:
+                sx = w - 1 - z;
+                sz = x;
+                break;
+
+            default:
+                sx = x;
+                sz = z;
+                break;
+        }
+
+        return snapshot.getPaletteIndex(offX + sx, offY + y, offZ + sz);
+    }
+
+    public static class Key {
+        private final long hash;
+        private final int sizeX, sizeY, sizeZ;
+        private final int[] states;
+
+        private Key(long hash, int sizeX, int sizeY, int sizeZ, int[] states) {
+            this.hash = hash;
+            this.sizeX = sizeX;
+            this.sizeY = sizeY;
+            this.sizeZ = sizeZ;
+            this.states = states;
+        }
+
+        public long getHash() {
+            return hash;
+        }
+
+        private boolean sameContents(Key other) {
+            return sizeX == other.sizeX && sizeY == other.sizeY && sizeZ == other.sizeZ
+                    && Arrays.equals(states, other.states);
+        }
+    }
+
+    public static class Entry {
+        private final Key key;
+
+        @Nullable
+        private final MiniaturizationRecipe recipe;
+
+        private Entry(Key key, @Nullable MiniaturizationRecipe recipe) {
+            this.key = key;
+            this.recipe = recipe;
+        }
+
+        @Nullable
+        public MiniaturizationRecipe getRecipe() {
+            return recipe;
+        }
+    }
+}
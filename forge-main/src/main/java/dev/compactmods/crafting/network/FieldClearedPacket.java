@@ -0,0 +1,78 @@
+package dev.compactmods.crafting.network;
+
+import java.util.BitSet;
+import java.util.function.Supplier;
+import dev.compactmods.crafting.client.ClientPacketHandler;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.phys.AABB;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+/**
+ * Tells clients which blocks a field cleared when crafting started, so they can play the smoke
+ * effect locally instead of the server sending a particle packet per block.
+ */
+public class FieldClearedPacket {
+
+    private final BlockPos origin;
+    private final int sizeX, sizeY, sizeZ;
+
+    /**
+     * One bit per position in the area, x fastest, then z, then y.
+     */
+    private final BitSet cleared;
+
+    public FieldClearedPacket(AABB fieldBounds, BlockPos[] clearedPositions) {
+        final AABB inner = fieldBounds.contract(1, 1, 1);
+        this.origin = new BlockPos(inner.minX, inner.minY, inner.minZ);
+
+        final BlockPos max = new BlockPos(inner.maxX, inner.maxY, inner.maxZ);
+        this.sizeX = max.getX() - origin.getX() + 1;
+        this.sizeY = max.getY() - origin.getY() + 1;
+        this.sizeZ = max.getZ() - origin.getZ() + 1;
+
+        this.cleared = new BitSet(sizeX * sizeY * sizeZ);
+        for (BlockPos pos : clearedPositions) {
+            final int x = pos.getX() - origin.getX();
+            final int y = pos.getY() - origin.getY();
+            final int z = pos.getZ() - origin.getZ();
+            if (x < 0 || y < 0 || z < 0 || x >= sizeX || y >= sizeY || z >= sizeZ)
+                continue;
+
+            cleared.set(x + (z * sizeX) + (y * sizeX * sizeZ));
+        }
+    }
+
+    public FieldClearedPacket(FriendlyByteBuf buf) {
+        this.origin = buf.readBlockPos();
+        this.sizeX = buf.readVarInt();
+        this.sizeY = buf.readVarInt();
+        this.sizeZ = buf.readVarInt();
+        this.cleared = BitSet.valueOf(buf.readLongArray());
+    }
+
+    public static void encode(FieldClearedPacket pkt, FriendlyByteBuf buf) {
+        buf.writeBlockPos(pkt.origin);
+        buf.writeVarInt(pkt.sizeX);
+        buf.writeVarInt(pkt.sizeY);
+        buf.writeVarInt(pkt.sizeZ);
+        buf.writeLongArray(pkt.cleared.toLongArray());
+    }
+
+    public static boolean handle(FieldClearedPacket pkt, Supplier<NetworkEvent.Context> context) {
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> {
+            final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+            for (int i = pkt.cleared.nextSetBit(0); i >= 0; i = pkt.cleared.nextSetBit(i + 1)) {
+                final int x = i % pkt.sizeX;
+                final int z = (i / pkt.sizeX) % pkt.sizeZ;
+                final int y = i / (pkt.sizeX * pkt.sizeZ);
+
+                ClientPacketHandler.handleBlockCleared(pos.setWithOffset(pkt.origin, x, y, z));
+            }
+        });
+
+        return true;
+    }
+}
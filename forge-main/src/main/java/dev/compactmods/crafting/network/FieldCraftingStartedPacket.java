@@ -0,0 +1,45 @@
+package dev.compactmods.crafting.network;
+
+import java.util.function.Supplier;
+import dev.compactmods.crafting.client.ClientPacketHandler;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+
+/**
+ * Sent once when a field starts crafting. Clients work the progress out from the game time
+ * crafting started at, so no further progress updates are needed.
+ */
+public class FieldCraftingStartedPacket {
+
+    private final BlockPos fieldCenter;
+
+    /**
+     * Server game time crafting started at.
+     */
+    private final long startTime;
+    private final int craftingTime;
+
+    public FieldCraftingStartedPacket(BlockPos fieldCenter, long startTime, int craftingTime) {
+        this.fieldCenter = fieldCenter;
+        this.startTime = startTime;
+        this.craftingTime = craftingTime;
+    }
+
+    public FieldCraftingStartedPacket(FriendlyByteBuf buf) {
+        this.fieldCenter = BlockPos.of(buf.readLong());
+        this.startTime = buf.readVarLong();
+        this.craftingTime = buf.readVarInt();
+    }
+
+    public static void encode(FieldCraftingStartedPacket pkt, FriendlyByteBuf buf) {
+        buf.writeLong(pkt.fieldCenter.asLong());
+        buf.writeVarLong(pkt.startTime);
+        buf.writeVarInt(pkt.craftingTime);
+    }
+
+    public static boolean handle(FieldCraftingStartedPacket pkt, Supplier<NetworkEvent.Context> context) {
+        context.get().enqueueWork(() -> ClientPacketHandler.handleCraftingStarted(pkt.fieldCenter, pkt.startTime, pkt.craftingTime));
+        return true;
+    }
+}
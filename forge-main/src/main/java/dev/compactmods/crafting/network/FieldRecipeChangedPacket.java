@@ -1,40 +1,40 @@
 package dev.compactmods.crafting.network;
 
-import javax.annotation.Nullable;
 import java.util.function.Supplier;
 import dev.compactmods.crafting.api.field.IMiniaturizationField;
 import dev.compactmods.crafting.api.recipe.IMiniaturizationRecipe;
 import dev.compactmods.crafting.client.ClientPacketHandler;
+import dev.compactmods.crafting.recipes.MiniaturizationRecipeIndex;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.FriendlyByteBuf;
-import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.crafting.RecipeManager;
 import net.minecraftforge.network.NetworkEvent;
 
 public class FieldRecipeChangedPacket {
 
     private final BlockPos fieldCenter;
 
-    @Nullable
-    private final ResourceLocation recipe;
+    /**
+     * Recipe network id (see {@link MiniaturizationRecipeIndex#getNetworkId}), or -1 if the recipe was cleared.
+     */
+    private final int recipe;
 
-    public FieldRecipeChangedPacket(IMiniaturizationField field) {
+    public FieldRecipeChangedPacket(IMiniaturizationField field, RecipeManager recipes) {
         this.fieldCenter = field.getCenter();
-        this.recipe = field.getCurrentRecipe().map(IMiniaturizationRecipe::getRecipeIdentifier).orElse(null);
+        this.recipe = field.getCurrentRecipe()
+                .map(IMiniaturizationRecipe::getRecipeIdentifier)
+                .map(id -> MiniaturizationRecipeIndex.get(recipes).getNetworkId(id))
+                .orElse(-1);
     }
 
     public FieldRecipeChangedPacket(FriendlyByteBuf buf) {
-        this.fieldCenter = buf.readBlockPos();
-        if(buf.readBoolean())
-            this.recipe = ResourceLocation.tryParse(buf.readUtf());
-        else
-            this.recipe = null;
+        this.fieldCenter = BlockPos.of(buf.readLong());
+        this.recipe = buf.readVarInt() - 1;
     }
 
     public static void encode(FieldRecipeChangedPacket pkt, FriendlyByteBuf buf) {
-        buf.writeBlockPos(pkt.fieldCenter);
-        buf.writeBoolean(pkt.recipe != null);
-        if(pkt.recipe != null)
-            buf.writeUtf(pkt.recipe.toString());
+        buf.writeLong(pkt.fieldCenter.asLong());
+        buf.writeVarInt(pkt.recipe + 1);
     }
 
     public static boolean handle(FieldRecipeChangedPacket pkt, Supplier<NetworkEvent.Context> context) {
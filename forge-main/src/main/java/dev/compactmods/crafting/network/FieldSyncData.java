@@ -0,0 +1,111 @@
+package dev.compactmods.crafting.network;
+
+import javax.annotation.Nullable;
+import dev.compactmods.crafting.api.EnumCraftingState;
+import dev.compactmods.crafting.api.field.IMiniaturizationField;
+import dev.compactmods.crafting.api.field.MiniaturizationFieldSize;
+import dev.compactmods.crafting.api.recipe.IMiniaturizationRecipe;
+import dev.compactmods.crafting.recipes.MiniaturizationRecipeIndex;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.crafting.RecipeManager;
+
+/**
+ * The field state clients need, in a fixed binary layout: the packed center, one byte each for the
+ * size and crafting state, then the recipe as a varint network id (0 for none, otherwise id + 1)
+ * followed by the crafting progress when there is a recipe.
+ */
+public class FieldSyncData {
+
+    private static final MiniaturizationFieldSize[] SIZES = MiniaturizationFieldSize.values();
+    private static final EnumCraftingState[] STATES = EnumCraftingState.values();
+
+    private final BlockPos center;
+    private final MiniaturizationFieldSize size;
+    private final EnumCraftingState state;
+
+    /**
+     * Network id of the recipe (see {@link MiniaturizationRecipeIndex#getNetworkId}), or -1 for none.
+     */
+    private final int recipe;
+    private final int progress;
+
+    private FieldSyncData(BlockPos center, MiniaturizationFieldSize size, EnumCraftingState state, int recipe, int progress) {
+        this.center = center;
+        this.size = size;
+        this.state = state;
+        this.recipe = recipe;
+        this.progress = progress;
+    }
+
+    public static FieldSyncData of(IMiniaturizationField field, RecipeManager recipes) {
+        final int recipe = field.getCurrentRecipe()
+                .map(IMiniaturizationRecipe::getRecipeIdentifier)
+                .map(id -> MiniaturizationRecipeIndex.get(recipes).getNetworkId(id))
+                .orElse(-1);
+
+        return new FieldSyncData(field.getCenter(), field.getFieldSize(), field.getCraftingState(),
+                recipe, recipe == -1 ? 0 : field.getProgress());
+    }
+
+    public static FieldSyncData read(FriendlyByteBuf buf) {
+        final BlockPos center = BlockPos.of(buf.readLong());
+        final MiniaturizationFieldSize size = SIZES[buf.readUnsignedByte()];
+        final EnumCraftingState state = STATES[buf.readUnsignedByte()];
+
+        final int recipe = buf.readVarInt() - 1;
+        final int progress = recipe == -1 ? 0 : buf.readVarInt();
+
+        return new FieldSyncData(center, size, state, recipe, progress);
+    }
+
+    public void write(FriendlyByteBuf buf) {
+        buf.writeLong(center.asLong());
+        buf.writeByte(size.ordinal());
+        buf.writeByte(state.ordinal());
+
+        buf.writeVarInt(recipe + 1);
+        if (recipe != -1)
+            buf.writeVarInt(progress);
+    }
+
+    /**
+     * Copies the synced state onto a client-side field.
+     */
+    public void applyTo(IMiniaturizationField field, RecipeManager recipes) {
+        field.setCenter(center);
+        field.setSize(size);
+        field.setCraftingState(state);
+
+        final ResourceLocation recipeId = getRecipe(recipes);
+        if (recipeId != null) {
+            field.setRecipe(recipeId);
+            field.setProgress(progress);
+        }
+    }
+
+    public BlockPos getCenter() {
+        return center;
+    }
+
+    public MiniaturizationFieldSize getSize() {
+        return size;
+    }
+
+    public EnumCraftingState getState() {
+        return state;
+    }
+
+    public int getProgress() {
+        return progress;
+    }
+
+    @Nullable
+    public ResourceLocation getRecipe(RecipeManager recipes) {
+        if (recipe == -1)
+            return null;
+
+        return MiniaturizationRecipeIndex.get(recipes).byNetworkId(recipe);
+    }
+}
@@ -0,0 +1,54 @@
+package dev.compactmods.crafting.network;
+
+import java.util.List;
+import java.util.function.Supplier;
+import dev.compactmods.crafting.client.ClientPacketHandler;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+
+/**
+ * Every field a player started or stopped watching during one tick; see {@link FieldWatchQueue}.
+ */
+public class FieldWatchBundlePacket {
+
+    private final List<FieldSyncData> watched;
+
+    /**
+     * Packed centers of the fields the player stopped watching.
+     */
+    private final long[] unwatched;
+
+    public FieldWatchBundlePacket(List<FieldSyncData> watched, long[] unwatched) {
+        this.watched = watched;
+        this.unwatched = unwatched;
+    }
+
+    public FieldWatchBundlePacket(FriendlyByteBuf buf) {
+        this.unwatched = buf.readLongArray();
+        this.watched = buf.readList(FieldSyncData::read);
+    }
+
+    public static void encode(FieldWatchBundlePacket pkt, FriendlyByteBuf buf) {
+        buf.writeLongArray(pkt.unwatched);
+        buf.writeCollection(pkt.watched, (b, data) -> data.write(b));
+    }
+
+    public static boolean handle(FieldWatchBundlePacket pkt, Supplier<NetworkEvent.Context> context) {
+        for (long center : pkt.unwatched)
+            ClientPacketHandler.removeField(BlockPos.of(center));
+
+        for (FieldSyncData data : pkt.watched)
+            ClientPacketHandler.handleFieldData(data);
+
+        return true;
+    }
+
+    public List<FieldSyncData> getWatched() {
+        return watched;
+    }
+
+    public long[] getUnwatched() {
+        return unwatched;
+    }
+}
@@ -0,0 +1,100 @@
+package dev.compactmods.crafting.network;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import dev.compactmods.crafting.api.field.IMiniaturizationField;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraftforge.network.PacketDistributor;
+
+/**
+ * Field watch and unwatch notifications for one player, collected over a tick and sent as a single
+ * {@link FieldWatchBundlePacket} when the server tick ends. Logging in or teleporting starts tracking
+ * a lot of chunks at once, which used to mean a packet per field per chunk.
+ * <p>
+ * A watch and an unwatch for the same field within one tick cancel out, and a field seen through
+ * several chunks is only sent once. Watched fields are encoded at flush time, so the player gets
+ * their state as of the end of the tick.
+ */
+public class FieldWatchQueue {
+
+    private static final Map<UUID, FieldWatchQueue> PENDING = new HashMap<>();
+
+    private final Long2ObjectLinkedOpenHashMap<IMiniaturizationField> watched;
+    private final LongLinkedOpenHashSet unwatched;
+
+    public FieldWatchQueue() {
+        this.watched = new Long2ObjectLinkedOpenHashMap<>();
+        this.unwatched = new LongLinkedOpenHashSet();
+    }
+
+    public static void queueWatch(ServerPlayer player, IMiniaturizationField field) {
+        PENDING.computeIfAbsent(player.getUUID(), id -> new FieldWatchQueue()).watch(field);
+    }
+
+    public static void queueUnwatch(ServerPlayer player, BlockPos center) {
+        PENDING.computeIfAbsent(player.getUUID(), id -> new FieldWatchQueue()).unwatch(center);
+    }
+
+    /**
+     * Sends each player's pending notifications as one bundle. Players that logged out since are skipped.
+     */
+    public static void flush(MinecraftServer server) {
+        if (PENDING.isEmpty())
+            return;
+
+        final RecipeManager recipes = server.getRecipeManager();
+        PENDING.forEach((id, queue) -> {
+            final ServerPlayer player = server.getPlayerList().getPlayer(id);
+            if (player == null || queue.isEmpty())
+                return;
+
+            NetworkHandler.MAIN_CHANNEL.send(PacketDistributor.PLAYER.with(() -> player), queue.toPacket(recipes));
+        });
+
+        PENDING.clear();
+    }
+
+    public static void discard(UUID player) {
+        PENDING.remove(player);
+    }
+
+    public static void clear() {
+        PENDING.clear();
+    }
+
+    public void watch(IMiniaturizationField field) {
+        final long center = field.getCenter().asLong();
+        if (unwatched.remove(center))
+            return;
+
+        watched.put(center, field);
+    }
+
+    public void unwatch(BlockPos center) {
+        final long packed = center.asLong();
+        if (watched.remove(packed) != null)
+            return;
+
+        unwatched.add(packed);
+    }
+
+    public boolean isEmpty() {
+        return watched.isEmpty() && unwatched.isEmpty();
+    }
+
+    public FieldWatchBundlePacket toPacket(RecipeManager recipes) {
+        final List<FieldSyncData> data = new ArrayList<>(watched.size());
+        for (IMiniaturizationField field : watched.values())
+            data.add(FieldSyncData.of(field, recipes));
+
+        return new FieldWatchBundlePacket(data, unwatched.toLongArray());
+    }
+}
@@ -7,7 +7,7 @@ import net.minecraftforge.network.NetworkRegistry;
 import net.minecraftforge.network.simple.SimpleChannel;
 
 public class NetworkHandler {
-    private static final String PROTOCOL_VERSION = "1";
+    private static final String PROTOCOL_VERSION = "5";
     public static final SimpleChannel MAIN_CHANNEL = NetworkRegistry.newSimpleChannel(
             new ResourceLocation(CompactCrafting.MOD_ID, "main"),
             () -> PROTOCOL_VERSION,
@@ -28,16 +28,10 @@ public class NetworkHandler {
                 .consumerMainThread(FieldDeactivatedPacket::handle)
                 .add();
 
-        MAIN_CHANNEL.messageBuilder(ClientFieldWatchPacket.class, 3, NetworkDirection.PLAY_TO_CLIENT)
-                .encoder(ClientFieldWatchPacket::encode)
-                .decoder(ClientFieldWatchPacket::new)
-                .consumerMainThread(ClientFieldWatchPacket::handle)
-                .add();
-
-        MAIN_CHANNEL.messageBuilder(ClientFieldUnwatchPacket.class, 4, NetworkDirection.PLAY_TO_CLIENT)
-                .encoder(ClientFieldUnwatchPacket::encode)
-                .decoder(ClientFieldUnwatchPacket::new)
-                .consumerMainThread(ClientFieldUnwatchPacket::handle)
+        MAIN_CHANNEL.messageBuilder(FieldWatchBundlePacket.class, 3, NetworkDirection.PLAY_TO_CLIENT)
+                .encoder(FieldWatchBundlePacket::encode)
+                .decoder(FieldWatchBundlePacket::new)
+                .consumerMainThread(FieldWatchBundlePacket::handle)
                 .add();
 
         MAIN_CHANNEL.messageBuilder(FieldRecipeChangedPacket.class, 5, NetworkDirection.PLAY_TO_CLIENT)
@@ -45,5 +39,17 @@ public class NetworkHandler {
                 .decoder(FieldRecipeChangedPacket::new)
                 .consumerMainThread(FieldRecipeChangedPacket::handle)
                 .add();
+
+        MAIN_CHANNEL.messageBuilder(FieldClearedPacket.class, 6, NetworkDirection.PLAY_TO_CLIENT)
+                .encoder(FieldClearedPacket::encode)
+                .decoder(FieldClearedPacket::new)
+                .consumerMainThread(FieldClearedPacket::handle)
+                .add();
+
+        MAIN_CHANNEL.messageBuilder(FieldCraftingStartedPacket.class, 7, NetworkDirection.PLAY_TO_CLIENT)
+                .encoder(FieldCraftingStartedPacket::encode)
+                .decoder(FieldCraftingStartedPacket::new)
+                .consumerMainThread(FieldCraftingStartedPacket::handle)
+                .add();
     }
 }
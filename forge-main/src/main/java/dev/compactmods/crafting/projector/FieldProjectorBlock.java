@@ -233,7 +233,7 @@ public class FieldProjectorBlock extends Block implements EntityBlock {
                         // Send activation packet to clients
                         NetworkHandler.MAIN_CHANNEL.send(
                                 PacketDistributor.TRACKING_CHUNK.with(() -> level.getChunkAt(field.getCenter())),
-                                new FieldActivatedPacket(field));
+                                new FieldActivatedPacket(field, level.getRecipeManager()));
                     }
                 });
             }
@@ -1,5 +1,6 @@
 package dev.compactmods.crafting.recipes;
 
+import javax.annotation.Nullable;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -25,6 +26,8 @@ import dev.compactmods.crafting.api.recipe.layers.dim.IFixedSizedRecipeLayer;
 import dev.compactmods.crafting.recipes.catalyst.CatalystMatcherCodec;
 import dev.compactmods.crafting.recipes.components.MiniaturizationRecipeComponents;
 import dev.compactmods.crafting.recipes.components.RecipeComponentTypeCodec;
+import dev.compactmods.crafting.recipes.layers.LayerRotationFingerprints;
+import dev.compactmods.crafting.recipes.layers.MixedComponentRecipeLayer;
 import dev.compactmods.crafting.recipes.layers.RecipeLayerUtil;
 import dev.compactmods.crafting.recipes.setup.RecipeBase;
 import dev.compactmods.crafting.server.ServerConfig;
@@ -48,9 +51,23 @@ public class MiniaturizationRecipe extends RecipeBase implements IMiniaturizatio
     private final AABB dimensions;
     private final int requiredTime;
     private final boolean hasFixedFootprint;
-    private Map<String, Integer> cachedComponentTotals;
+    private volatile Map<String, Integer> cachedComponentTotals;
     private final MiniaturizationRecipeComponents components;
 
+    /**
+     * Compiled rotation grids for mixed layers, keyed by layer index. Layers without an entry
+     * are matched by rotating the field blocks.
+     */
+    private final Map<Integer, LayerRotationFingerprints> layerFingerprints;
+
+    /**
+     * Compact network encoding and its content hash; recipes are sent to every player on login and
+     * reload, so the encoding is only built once. Set from the netty threads encoding the packets.
+     */
+    @Nullable
+    private volatile byte[] networkData;
+    private volatile long networkHash;
+
     public static final Codec<IRecipeLayer> LAYER_CODEC = ExtraCodecs.lazyInitializedCodec(() -> {
         final var reg = CCLayerTypes.RECIPE_LAYER_TYPES.get();
         return reg.getCodec().dispatchStable(IRecipeLayer::getType, RecipeLayerType::getCodec);
@@ -88,6 +105,7 @@ public class MiniaturizationRecipe extends RecipeBase implements IMiniaturizatio
         this.outputs = new ItemStack[0];
         this.dimensions = AABB.ofSize(Vec3.ZERO, 0, 0, 0);
         this.components = new MiniaturizationRecipeComponents();
+        this.layerFingerprints = Collections.emptyMap();
     }
 
     public MiniaturizationRecipe(int craftTime, int recipeSize, List<IRecipeLayer> layers,
@@ -158,6 +176,19 @@ public class MiniaturizationRecipe extends RecipeBase implements IMiniaturizatio
 
         this.updateFluidLayerDimensions();
         // endregion
+
+        // region Rotation fingerprints
+        final HashMap<Integer, LayerRotationFingerprints> fingerprints = new HashMap<>();
+        for (Map.Entry<Integer, IRecipeLayer> entry : this.layers.entrySet()) {
+            if (entry.getValue() instanceof MixedComponentRecipeLayer mixed) {
+                final LayerRotationFingerprints compiled = LayerRotationFingerprints.compile(mixed, dimensions);
+                if (compiled != null)
+                    fingerprints.put(entry.getKey(), compiled);
+            }
+        }
+
+        this.layerFingerprints = fingerprints;
+        // endregion
     }
 
     private void updateFluidLayerDimensions() {
@@ -208,6 +239,16 @@ public class MiniaturizationRecipe extends RecipeBase implements IMiniaturizatio
             if (layer.requiresAllBlocksIdentified() && !layerBlocks.allIdentified())
                 return false;
 
+            // Mixed layers compiled at load compare against all four rotations at once
+            final LayerRotationFingerprints fingerprints = layerFingerprints.get(entry.getKey());
+            final EnumSet<Rotation> fingerprintMatches = fingerprints == null ? null : fingerprints.findMatchingRotations(layerBlocks);
+            if (fingerprintMatches != null) {
+                for (Rotation rotation : fingerprintMatches)
+                    layerRotationMatches.get(rotation).add(entry.getKey());
+
+                continue;
+            }
+
             final boolean firstMatched = layer.matches(components, layerBlocks);
             if (firstMatched)
                 layerRotationMatches.get(Rotation.NONE).add(entry.getKey());
@@ -258,17 +299,20 @@ public class MiniaturizationRecipe extends RecipeBase implements IMiniaturizatio
     }
 
     public Map<String, Integer> getComponentTotals() {
-        if (this.cachedComponentTotals != null)
-            return this.cachedComponentTotals;
+        final Map<String, Integer> cached = this.cachedComponentTotals;
+        if (cached != null)
+            return cached;
 
+        // Matching can run on worker threads; the map is only published once it is complete
         HashMap<String, Integer> totals = new HashMap<>();
         components.getAllComponents().keySet().forEach(comp -> {
             int count = this.getComponentRequiredCount(comp);
             totals.put(comp, count);
         });
 
-        this.cachedComponentTotals = totals;
-        return totals;
+        final Map<String, Integer> result = Collections.unmodifiableMap(totals);
+        this.cachedComponentTotals = result;
+        return result;
     }
 
     public int getComponentRequiredCount(String i) {
@@ -339,17 +383,36 @@ public class MiniaturizationRecipe extends RecipeBase implements IMiniaturizatio
         return CCMiniaturizationRecipes.MINIATURIZATION_RECIPE.get();
     }
 
-    private List<IRecipeLayer> codecLayerList() {
+    /**
+     * Gets the compact network encoding of the recipe, built the first time the recipe is sent.
+     */
+    byte[] getNetworkData() {
+        byte[] data = this.networkData;
+        if (data == null) {
+            data = RecipeNetworkFormat.encode(this);
+            this.networkHash = RecipeNetworkFormat.hash(data);
+            this.networkData = data;
+        }
+
+        return data;
+    }
+
+    long getNetworkHash() {
+        getNetworkData();
+        return networkHash;
+    }
+
+    List<IRecipeLayer> codecLayerList() {
         return layers.descendingKeySet().stream()
                 .map(layers::get)
                 .collect(Collectors.toList());
     }
 
-    private List<ItemStack> codecOutputs() {
+    List<ItemStack> codecOutputs() {
         return ImmutableList.copyOf(outputs);
     }
 
-    private int codecRecipeSize() {
+    int codecRecipeSize() {
         if (this.hasFixedFootprint) return -1;
         // TODO: Change recipeSize to take an X/Z
         return (int) Math.max(dimensions.getXsize(), dimensions.getZsize());
@@ -0,0 +1,207 @@
+package dev.compactmods.crafting.recipes;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import dev.compactmods.crafting.api.components.IRecipeBlockComponent;
+import dev.compactmods.crafting.core.CCMiniaturizationRecipes;
+import dev.compactmods.crafting.field.FieldSnapshot;
+import dev.compactmods.crafting.recipes.components.BlockComponent;
+import dev.compactmods.crafting.recipes.components.EmptyBlockComponent;
+import dev.compactmods.crafting.recipes.components.MiniaturizationRecipeComponents;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.AABB;
+
+/**
+ * Inverted index from block states to the miniaturization recipes that can use them, used to prune
+ * the candidate list before any structural matching happens. Built lazily per recipe manager and
+ * dropped whenever recipes reload.
+ */
+public final class MiniaturizationRecipeIndex {
+
+    private static final Map<RecipeManager, MiniaturizationRecipeIndex> INDICES = new WeakHashMap<>();
+
+    private final List<MiniaturizationRecipe> recipes;
+
+    /**
+     * Recipes (by ordinal) that can contain each block state id; already includes the wildcards.
+     */
+    private final Int2ObjectOpenHashMap<BitSet> stateRecipes;
+
+    /**
+     * Recipes that may accept states we can't enumerate up front - custom block components, or
+     * layers that don't require every block to be identified.
+     */
+    private final BitSet wildcards;
+
+    /**
+     * Recipe ids sorted, so the server and client (which receives the same recipe set) agree on
+     * the position of each one; used as a compact id in packets.
+     */
+    private final List<ResourceLocation> networkIds;
+    private final Object2IntOpenHashMap<ResourceLocation> networkIdLookup;
+
+    private MiniaturizationRecipeIndex(List<MiniaturizationRecipe> recipes) {
+        this.recipes = Collections.unmodifiableList(new ArrayList<>(recipes));
+        this.stateRecipes = new Int2ObjectOpenHashMap<>();
+        this.wildcards = new BitSet(recipes.size());
+
+        this.networkIds = new ArrayList<>(recipes.size());
+        for (MiniaturizationRecipe recipe : recipes)
+            networkIds.add(recipe.getRecipeIdentifier());
+
+        networkIds.sort(Comparator.naturalOrder());
+        this.networkIdLookup = new Object2IntOpenHashMap<>(networkIds.size());
+        this.networkIdLookup.defaultReturnValue(-1);
+        for (int i = 0; i < networkIds.size(); i++)
+            networkIdLookup.put(networkIds.get(i), i);
+
+        for (int i = 0; i < this.recipes.size(); i++) {
+            final MiniaturizationRecipe recipe = this.recipes.get(i);
+            if (acceptsUnknownStates(recipe)) {
+                wildcards.set(i);
+                continue;
+            }
+
+            for (IRecipeBlockComponent component : recipe.getComponents().getBlockComponents().values()) {
+                if (!(component instanceof BlockComponent bc))
+                    continue;
+
+                for (BlockState state : bc.getValidStates())
+                    stateRecipes.computeIfAbsent(Block.getId(state), id -> new BitSet(this.recipes.size())).set(i);
+            }
+        }
+
+        for (BitSet bits : stateRecipes.values())
+            bits.or(wildcards);
+    }
+
+    private static boolean acceptsUnknownStates(MiniaturizationRecipe recipe) {
+        if (recipe.getLayers().anyMatch(layer -> !layer.requiresAllBlocksIdentified()))
+            return true;
+
+        return recipe.getComponents().getBlockComponents().values()
+                .stream()
+                .anyMatch(c -> !(c instanceof BlockComponent) && !(c instanceof EmptyBlockComponent));
+    }
+
+    public static MiniaturizationRecipeIndex get(RecipeManager manager) {
+        synchronized (INDICES) {
+            return INDICES.computeIfAbsent(manager, rm -> new MiniaturizationRecipeIndex(
+                    rm.getAllRecipesFor(CCMiniaturizationRecipes.MINIATURIZATION_RECIPE.get())));
+        }
+    }
+
+    /**
+     * Drops every built index; called when recipes are reloaded or synced.
+     */
+    public static void invalidate() {
+        synchronized (INDICES) {
+            INDICES.clear();
+        }
+    }
+
+    public int size() {
+        return recipes.size();
+    }
+
+    /**
+     * Gets the id a recipe is sent as over the network.
+     *
+     * @return The id, or -1 if the recipe isn't a known miniaturization recipe.
+     */
+    public int getNetworkId(ResourceLocation recipe) {
+        return networkIdLookup.getInt(recipe);
+    }
+
+    /**
+     * Resolves an id read from a packet back to the recipe it stands for.
+     */
+    @Nullable
+    public ResourceLocation byNetworkId(int id) {
+        if (id < 0 || id >= networkIds.size())
+            return null;
+
+        return networkIds.get(id);
+    }
+
+    /**
+     * Gets the recipes that could possibly match the field contents: every non-air block in the
+     * field must be usable by the recipe, the filled area must be exactly the recipe size, and the
+     * field must contain at least as many of each component as the recipe requires.
+     */
+    public List<MiniaturizationRecipe> getCandidates(FieldSnapshot snapshot) {
+        if (recipes.isEmpty() || snapshot.isEmpty())
+            return Collections.emptyList();
+
+        final List<BlockState> palette = snapshot.getPalette();
+        final BitSet candidates = new BitSet(recipes.size());
+        candidates.set(0, recipes.size());
+
+        for (BlockState state : palette) {
+            if (state.isAir())
+                continue;
+
+            final BitSet usable = stateRecipes.get(Block.getId(state));
+            candidates.and(usable == null ? wildcards : usable);
+            if (candidates.isEmpty())
+                return Collections.emptyList();
+        }
+
+        final AABB filled = snapshot.getFilledBounds();
+        final List<MiniaturizationRecipe> matched = new ArrayList<>(candidates.cardinality());
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            final MiniaturizationRecipe recipe = recipes.get(i);
+            final AABB dimensions = recipe.getDimensions();
+            if (dimensions.getXsize() != filled.getXsize()
+                    || dimensions.getYsize() != filled.getYsize()
+                    || dimensions.getZsize() != filled.getZsize())
+                continue;
+
+            if (!hasRequiredComponents(recipe, snapshot))
+                continue;
+
+            matched.add(recipe);
+        }
+
+        return matched;
+    }
+
+    private static boolean hasRequiredComponents(MiniaturizationRecipe recipe, FieldSnapshot snapshot) {
+        final MiniaturizationRecipeComponents components = recipe.getComponents();
+        final List<BlockState> palette = snapshot.getPalette();
+
+        final Object2IntOpenHashMap<String> totals = new Object2IntOpenHashMap<>();
+        for (int p = 0; p < palette.size(); p++) {
+            final BlockState state = palette.get(p);
+            if (state.isAir())
+                continue;
+
+            final Optional<String> key = components.getKey(state);
+            if (key.isPresent())
+                totals.addTo(key.get(), snapshot.getPaletteCount(p));
+        }
+
+        // Mixed layers allow other known components in their gaps, so this is a lower bound only
+        for (Map.Entry<String, Integer> required : recipe.getComponentTotals().entrySet()) {
+            if (components.isEmptyBlock(required.getKey()))
+                continue;
+
+            if (totals.getInt(required.getKey()) < required.getValue())
+                return false;
+        }
+
+        return true;
+    }
+}
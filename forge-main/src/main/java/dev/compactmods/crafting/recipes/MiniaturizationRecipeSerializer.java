@@ -45,15 +45,26 @@ public class MiniaturizationRecipeSerializer implements RecipeSerializer<Miniatu
         }
 
         try {
-            final MiniaturizationRecipe recipe = buffer.readWithCodec(MiniaturizationRecipe.CODEC);
+            final long hash = buffer.readLong();
+            final int length = buffer.readVarInt();
+
+            final MiniaturizationRecipe cached = RecipeNetworkCache.get(recipeId, hash);
+            if (cached != null) {
+                buffer.skipBytes(length);
+                CompactCrafting.LOGGER.debug("Recipe unchanged, reusing cached copy: {}", recipeId);
+                return cached;
+            }
+
+            final MiniaturizationRecipe recipe = RecipeNetworkFormat.read(new FriendlyByteBuf(buffer.readSlice(length)));
             recipe.setId(recipeId);
+            RecipeNetworkCache.put(recipeId, hash, recipe);
 
             CompactCrafting.LOGGER.debug("Finished recipe read: {}", recipeId);
 
             return recipe;
         }
 
-        catch(EncoderException ex) {
+        catch(EncoderException | IndexOutOfBoundsException ex) {
             CompactCrafting.RECIPE_LOGGER.error("Error reading recipe information from network: " + ex.getMessage());
             return null;
         }
@@ -62,6 +73,7 @@ public class MiniaturizationRecipeSerializer implements RecipeSerializer<Miniatu
     @Override
     public void toNetwork(@NotNull FriendlyByteBuf buffer, @NotNull MiniaturizationRecipe recipe) {
         CompactCrafting.LOGGER.debug("Sending recipe over network: {}", recipe.getRecipeIdentifier());
-        buffer.writeWithCodec(MiniaturizationRecipe.CODEC, recipe);
+        buffer.writeLong(recipe.getNetworkHash());
+        buffer.writeByteArray(recipe.getNetworkData());
     }
 }
@@ -0,0 +1,64 @@
+package dev.compactmods.crafting.recipes;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Client-side cache of recipes received from the server, keyed by recipe id and the hash of their
+ * network encoding. When the server resends a recipe that hasn't changed (on /reload, for example)
+ * the cached instance is reused instead of being decoded and rebuilt.
+ * <p>
+ * The encoding refers to blocks and items by numeric registry id, which are only valid for the
+ * server that sent them, so the cache must be cleared whenever the client leaves a server.
+ */
+public final class RecipeNetworkCache {
+
+    private static final Map<ResourceLocation, Entry> CACHE = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = false;
+
+    private RecipeNetworkCache() {
+    }
+
+    public static void setEnabled(boolean enabled) {
+        RecipeNetworkCache.enabled = enabled;
+        if (!enabled)
+            CACHE.clear();
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return The cached recipe, or null if the cache is off or holds a different version of it.
+     */
+    @Nullable
+    static MiniaturizationRecipe get(ResourceLocation id, long hash) {
+        if (!enabled)
+            return null;
+
+        final Entry entry = CACHE.get(id);
+        return entry != null && entry.hash == hash ? entry.recipe : null;
+    }
+
+    static void put(ResourceLocation id, long hash, MiniaturizationRecipe recipe) {
+        if (enabled)
+            CACHE.put(id, new Entry(hash, recipe));
+    }
+
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    private static final class Entry {
+        private final long hash;
+        private final MiniaturizationRecipe recipe;
+
+        private Entry(long hash, MiniaturizationRecipe recipe) {
+            this.hash = hash;
+            this.recipe = recipe;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package dev.compactmods.crafting.recipes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import com.google.common.hash.Hashing;
+import dev.compactmods.crafting.api.catalyst.ICatalystMatcher;
+import dev.compactmods.crafting.api.components.IRecipeComponent;
+import dev.compactmods.crafting.api.recipe.layers.IRecipeLayer;
+import dev.compactmods.crafting.recipes.blocks.ComponentPositionLookup;
+import dev.compactmods.crafting.recipes.catalyst.CatalystMatcherCodec;
+import dev.compactmods.crafting.recipes.catalyst.ItemStackCatalystMatcher;
+import dev.compactmods.crafting.recipes.catalyst.ItemTagCatalystMatcher;
+import dev.compactmods.crafting.recipes.components.BlockComponent;
+import dev.compactmods.crafting.recipes.components.EmptyBlockComponent;
+import dev.compactmods.crafting.recipes.components.MiniaturizationRecipeComponents;
+import dev.compactmods.crafting.recipes.layers.EmptyRecipeLayer;
+import dev.compactmods.crafting.recipes.layers.FilledComponentRecipeLayer;
+import dev.compactmods.crafting.recipes.layers.HollowComponentRecipeLayer;
+import dev.compactmods.crafting.recipes.layers.MixedComponentRecipeLayer;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenHashMap;
+import net.minecraft.core.Registry;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.util.Mth;
+import net.minecraft.util.SimpleBitStorage;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.Block;
+import net.minecraftforge.registries.ForgeRegistries;
+
+/**
+ * Binary recipe encoding used to sync miniaturization recipes to clients, in place of the NBT the
+ * recipe codec produces. Component keys are written once and referred to by index; mixed layer
+ * patterns are bit-packed grids of those indices; blocks and items are written as registry ids.
+ * Component, layer and catalyst types this format doesn't know still go through their codecs.
+ * <p>
+ * The key table lists component keys in sorted order, then keys only used by layers in the order the
+ * layers (top down) first use them; property filters are sorted. Both depend only on the recipe, so
+ * the same recipe always encodes to the same bytes and its content hash stays stable across reloads.
+ */
+public final class RecipeNetworkFormat {
+
+    private static final int COMPONENT_BLOCK = 0;
+    private static final int COMPONENT_EMPTY = 1;
+    private static final int COMPONENT_CODEC = 2;
+
+    private static final int LAYER_EMPTY = 0;
+    private static final int LAYER_FILLED = 1;
+    private static final int LAYER_HOLLOW = 2;
+    private static final int LAYER_MIXED = 3;
+    private static final int LAYER_CODEC = 4;
+
+    private static final int CATALYST_NONE = 0;
+    private static final int CATALYST_ITEM = 1;
+    private static final int CATALYST_TAG = 2;
+    private static final int CATALYST_CODEC = 3;
+
+    private RecipeNetworkFormat() {
+    }
+
+    public static byte[] encode(MiniaturizationRecipe recipe) {
+        final FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        write(buf, recipe);
+
+        final byte[] data = new byte[buf.readableBytes()];
+        buf.readBytes(data);
+        return data;
+    }
+
+    public static long hash(byte[] data) {
+        return Hashing.murmur3_128().hashBytes(data).asLong();
+    }
+
+    public static void write(FriendlyByteBuf buf, MiniaturizationRecipe recipe) {
+        final TreeMap<String, IRecipeComponent> components = new TreeMap<>(recipe.getComponents().getAllComponents());
+        final List<IRecipeLayer> layers = recipe.codecLayerList();
+
+        // Every key used by a component or a layer, in the order they are first seen
+        final Object2IntLinkedOpenHashMap<String> keys = new Object2IntLinkedOpenHashMap<>();
+        components.keySet().forEach(key -> keys.putIfAbsent(key, keys.size()));
+
+        final String[][][] patterns = new String[layers.size()][][];
+        for (int i = 0; i < layers.size(); i++) {
+            final IRecipeLayer layer = layers.get(i);
+            if (layer instanceof FilledComponentRecipeLayer filled) {
+                keys.putIfAbsent(filled.getComponent(), keys.size());
+            } else if (layer instanceof HollowComponentRecipeLayer hollow) {
+                keys.putIfAbsent(hollow.getComponent(), keys.size());
+            } else if (layer instanceof MixedComponentRecipeLayer mixed && mixed.getComponentLookup() instanceof ComponentPositionLookup lookup) {
+                patterns[i] = lookup.toPattern();
+                for (String[] row : patterns[i]) {
+                    for (String key : row)
+                        keys.putIfAbsent(key, keys.size());
+                }
+            }
+        }
+
+        buf.writeVarInt(recipe.getCraftingTime());
+        buf.writeVarInt(recipe.codecRecipeSize() + 1);
+
+        buf.writeVarInt(keys.size());
+        keys.keySet().forEach(buf::writeUtf);
+
+        buf.writeVarInt(components.size());
+        components.forEach((key, component) -> {
+            buf.writeVarInt(keys.getInt(key));
+            writeComponent(buf, component);
+        });
+
+        buf.writeVarInt(layers.size());
+        for (int i = 0; i < layers.size(); i++)
+            writeLayer(buf, layers.get(i), patterns[i], keys);
+
+        buf.writeCollection(recipe.codecOutputs(), FriendlyByteBuf::writeItem);
+        writeCatalyst(buf, recipe.getCatalyst());
+    }
+
+    public static MiniaturizationRecipe read(FriendlyByteBuf buf) {
+        final int craftingTime = buf.readVarInt();
+        final int recipeSize = buf.readVarInt() - 1;
+
+        final String[] keys = new String[buf.readVarInt()];
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = buf.readUtf();
+
+        final MiniaturizationRecipeComponents components = new MiniaturizationRecipeComponents();
+        final int componentCount = buf.readVarInt();
+        for (int i = 0; i < componentCount; i++) {
+            final String key = keys[buf.readVarInt()];
+            final IRecipeComponent component = readComponent(buf);
+
+            // Same split as the components codec
+            if (component instanceof BlockComponent bc)
+                components.registerBlock(key, bc);
+            else
+                components.registerOther(key, component);
+        }
+
+        final int layerCount = buf.readVarInt();
+        final List<IRecipeLayer> layers = new ArrayList<>(layerCount);
+        for (int i = 0; i < layerCount; i++)
+            layers.add(readLayer(buf, keys));
+
+        final List<ItemStack> outputs = buf.readList(FriendlyByteBuf::readItem);
+        final ICatalystMatcher catalyst = readCatalyst(buf);
+
+        return new MiniaturizationRecipe(craftingTime, recipeSize, layers, components, outputs, catalyst);
+    }
+
+    private static void writeComponent(FriendlyByteBuf buf, IRecipeComponent component) {
+        if (component instanceof BlockComponent block) {
+            buf.writeByte(COMPONENT_BLOCK);
+            buf.writeId(Registry.BLOCK, block.getBlock());
+            buf.writeMap(new TreeMap<>(block.getPropertyFilters()), FriendlyByteBuf::writeUtf,
+                    (b, values) -> b.writeCollection(values, FriendlyByteBuf::writeUtf));
+        } else if (component instanceof EmptyBlockComponent) {
+            buf.writeByte(COMPONENT_EMPTY);
+        } else {
+            buf.writeByte(COMPONENT_CODEC);
+            buf.writeWithCodec(MiniaturizationRecipe.COMPONENT_CODEC, component);
+        }
+    }
+
+    private static IRecipeComponent readComponent(FriendlyByteBuf buf) {
+        switch (buf.readUnsignedByte()) {
+            case COMPONENT_BLOCK:
+                final Block block = buf.readById(Registry.BLOCK);
+                final Map<String, List<String>> filters = buf.readMap(FriendlyByteBuf::readUtf, b -> b.readList(FriendlyByteBuf::readUtf));
+                return new BlockComponent(block, Optional.of(filters));
+
+            case COMPONENT_EMPTY:
+                return new EmptyBlockComponent();
+
+            default:
+                return buf.readWithCodec(MiniaturizationRecipe.COMPONENT_CODEC);
+        }
+    }
+
+    private static void writeLayer(FriendlyByteBuf buf, IRecipeLayer layer, String[][] pattern, Object2IntLinkedOpenHashMap<String> keys) {
+        if (layer instanceof EmptyRecipeLayer) {
+            buf.writeByte(LAYER_EMPTY);
+        } else if (layer instanceof FilledComponentRecipeLayer filled) {
+            buf.writeByte(LAYER_FILLED);
+            buf.writeVarInt(keys.getInt(filled.getComponent()));
+        } else if (layer instanceof HollowComponentRecipeLayer hollow) {
+            buf.writeByte(LAYER_HOLLOW);
+            buf.writeVarInt(keys.getInt(hollow.getComponent()));
+        } else if (pattern != null) {
+            buf.writeByte(LAYER_MIXED);
+
+            final int xSize = pattern.length;
+            final int zSize = pattern[0].length;
+            buf.writeVarInt(xSize);
+            buf.writeVarInt(zSize);
+
+            final SimpleBitStorage cells = new SimpleBitStorage(bitsPerKey(keys.size()), xSize * zSize);
+            for (int x = 0; x < xSize; x++) {
+                for (int z = 0; z < zSize; z++)
+                    cells.set(x * zSize + z, keys.getInt(pattern[x][z]));
+            }
+
+            buf.writeLongArray(cells.getRaw());
+        } else {
+            buf.writeByte(LAYER_CODEC);
+            buf.writeWithCodec(MiniaturizationRecipe.LAYER_CODEC, layer);
+        }
+    }
+
+    private static IRecipeLayer readLayer(FriendlyByteBuf buf, String[] keys) {
+        switch (buf.readUnsignedByte()) {
+            case LAYER_EMPTY:
+                return new EmptyRecipeLayer();
+
+            case LAYER_FILLED:
+                return new FilledComponentRecipeLayer(keys[buf.readVarInt()]);
+
+            case LAYER_HOLLOW:
+                return new HollowComponentRecipeLayer(keys[buf.readVarInt()]);
+
+            case LAYER_MIXED:
+                final int xSize = buf.readVarInt();
+                final int zSize = buf.readVarInt();
+                final SimpleBitStorage cells = new SimpleBitStorage(bitsPerKey(keys.length), xSize * zSize, buf.readLongArray());
+
+                final String[][] pattern = new String[xSize][zSize];
+                for (int x = 0; x < xSize; x++) {
+                    for (int z = 0; z < zSize; z++)
+                        pattern[x][z] = keys[cells.get(x * zSize + z)];
+                }
+
+                return new MixedComponentRecipeLayer(ComponentPositionLookup.fromPattern(pattern));
+
+            default:
+                return buf.readWithCodec(MiniaturizationRecipe.LAYER_CODEC);
+        }
+    }
+
+    private static void writeCatalyst(FriendlyByteBuf buf, ICatalystMatcher catalyst) {
+        if (catalyst == null) {
+            buf.writeByte(CATALYST_NONE);
+        } else if (catalyst instanceof ItemStackCatalystMatcher stack && stack.getItem() != null) {
+            buf.writeByte(CATALYST_ITEM);
+            buf.writeId(Registry.ITEM, stack.getItem());
+            buf.writeNbt(stack.getNbt());
+        } else if (catalyst instanceof ItemTagCatalystMatcher tag && tag.getTag() != null) {
+            buf.writeByte(CATALYST_TAG);
+            buf.writeResourceLocation(tag.getTag().location());
+        } else {
+            buf.writeByte(CATALYST_CODEC);
+            buf.writeWithCodec(CatalystMatcherCodec.MATCHER_CODEC, catalyst);
+        }
+    }
+
+    private static ICatalystMatcher readCatalyst(FriendlyByteBuf buf) {
+        switch (buf.readUnsignedByte()) {
+            case CATALYST_NONE:
+                return null;
+
+            case CATALYST_ITEM:
+                final Item item = buf.readById(Registry.ITEM);
+                final CompoundTag nbt = buf.readNbt();
+                return new ItemStackCatalystMatcher(ForgeRegistries.ITEMS.getKey(item), Optional.ofNullable(nbt));
+
+            case CATALYST_TAG:
+                final ResourceLocation tag = buf.readResourceLocation();
+                return new ItemTagCatalystMatcher(TagKey.create(Registry.ITEM_REGISTRY, tag));
+
+            default:
+                return buf.readWithCodec(CatalystMatcherCodec.MATCHER_CODEC);
+        }
+    }
+
+    private static int bitsPerKey(int keyCount) {
+        return Math.max(1, Mth.ceillog2(keyCount));
+    }
+}
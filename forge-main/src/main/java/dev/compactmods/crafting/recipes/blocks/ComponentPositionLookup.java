@@ -4,10 +4,14 @@ import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import com.mojang.serialization.Codec;
+import dev.compactmods.crafting.CompactCrafting;
 import dev.compactmods.crafting.api.components.IPositionalComponentLookup;
+import dev.compactmods.crafting.recipes.RecipeHelper;
+import dev.compactmods.crafting.util.BlockSpaceUtil;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Vec3i;
 import net.minecraft.world.level.levelgen.structure.BoundingBox;
+import net.minecraft.world.phys.AABB;
 
 public class ComponentPositionLookup implements IPositionalComponentLookup {
 
@@ -23,6 +27,36 @@ public class ComponentPositionLookup implements IPositionalComponentLookup {
         this.footprint = new BoundingBox(BlockPos.ZERO);
     }
 
+    /**
+     * Builds a lookup from a pattern indexed [x][z], as mixed layers are written in recipes.
+     * Every cell is kept, "-" gaps included; the recipe drops keys it doesn't define.
+     */
+    public static ComponentPositionLookup fromPattern(String[][] pattern) {
+        ComponentPositionLookup lookup = new ComponentPositionLookup();
+        lookup.setFootprint(pattern[0].length, pattern.length);
+        lookup.components.putAll(RecipeHelper.convertMultiArrayToMap(pattern));
+        lookup.rebuildComponentTotals();
+        return lookup;
+    }
+
+    /**
+     * Lays the lookup out over its footprint as a pattern indexed [x][z], with "-" where there is no component.
+     */
+    public String[][] toPattern() {
+        AABB boundsForBlocks = AABB.of(footprint);
+        final String[][] map = RecipeHelper.generateArrayFromBounds(boundsForBlocks);
+
+        BlockSpaceUtil.getBlocksIn(boundsForBlocks).forEach(pos -> {
+            try {
+                map[pos.getX()][pos.getZ()] = getRequiredComponentKeyForPosition(pos).orElse("-");
+            } catch (ArrayIndexOutOfBoundsException aio) {
+                CompactCrafting.RECIPE_LOGGER.error(aio);
+            }
+        });
+
+        return map;
+    }
+
     public IPositionalComponentLookup add(BlockPos location, String component) {
         components.putIfAbsent(location, component);
         componentTotals.putIfAbsent(component, 0);
@@ -0,0 +1,319 @@
+package dev.compactmods.crafting.recipes.blocks;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import dev.compactmods.crafting.api.components.IRecipeComponents;
+import dev.compactmods.crafting.api.recipe.layers.IRecipeBlocks;
+import dev.compactmods.crafting.field.FieldSnapshot;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Vec3i;
+import net.minecraft.world.level.block.Rotation;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.AABB;
+
+/**
+ * An {@link IRecipeBlocks} backed directly by the palette-indexed grid of a {@link FieldSnapshot}.
+ * Component keys are resolved once per palette entry instead of once per position.
+ *
+ * Slicing, offsetting, normalizing and rotating never copy block data; each returns a new view
+ * that remaps its own coordinates onto the same grid. Behaves like {@link RecipeBlocks} with one
+ * exception: a rotated view reports bounds matching its rotated footprint, where RecipeBlocks
+ * keeps the bounds of the unrotated source.
+ */
+public class VoxelRecipeBlocks implements IRecipeBlocks {
+
+    private final FieldSnapshot snapshot;
+
+    /**
+     * Component key for each snapshot palette entry, or null if the state isn't a known component.
+     */
+    private final String[] paletteKeys;
+
+    /**
+     * Mirrors RecipeBlocks#create, which counts unidentified air as unmatched until the blocks are
+     * sliced or offset.
+     */
+    private final boolean airUnmatched;
+
+    private final AABB sourceBounds;
+    private final int originX, originY, originZ;
+    private final int sizeX, sizeY, sizeZ;
+
+    // Snapshot grid position of local (0, 0, 0), and the XZ transform from local to grid coordinates
+    private final int baseX, baseY, baseZ;
+    private final int m00, m01, m10, m11;
+
+    @Nullable
+    private Map<String, Integer> componentTotals;
+
+    private VoxelRecipeBlocks(FieldSnapshot snapshot, String[] paletteKeys, boolean airUnmatched,
+                              int originX, int originY, int originZ,
+                              int sizeX, int sizeY, int sizeZ,
+                              int baseX, int baseY, int baseZ,
+                              int m00, int m01, int m10, int m11) {
+        this.snapshot = snapshot;
+        this.paletteKeys = paletteKeys;
+        this.airUnmatched = airUnmatched;
+        this.originX = originX;
+        this.originY = originY;
+        this.originZ = originZ;
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.baseX = baseX;
+        this.baseY = baseY;
+        this.baseZ = baseZ;
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m10 = m10;
+        this.m11 = m11;
+
+        this.sourceBounds = new AABB(originX, originY, originZ, originX + sizeX, originY + sizeY, originZ + sizeZ);
+    }
+
+    /**
+     * Creates a view over part of a field snapshot, identifying components with the given recipe components.
+     *
+     * @param snapshot   The captured field contents.
+     * @param components Recipe components used to resolve each block state to a component key.
+     * @param bounds     World-coordinate bounds to view; must lie inside the snapshot bounds.
+     */
+    public static VoxelRecipeBlocks create(FieldSnapshot snapshot, IRecipeComponents components, AABB bounds) {
+        final List<BlockState> palette = snapshot.getPalette();
+        final String[] keys = new String[palette.size()];
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = components.getKey(palette.get(i)).orElse(null);
+
+        final int sizeX = (int) Math.round(bounds.getXsize());
+        final int sizeY = (int) Math.round(bounds.getYsize());
+        final int sizeZ = (int) Math.round(bounds.getZsize());
+        final int minX = (int) Math.floor(bounds.minX);
+        final int minY = (int) Math.floor(bounds.minY);
+        final int minZ = (int) Math.floor(bounds.minZ);
+
+        final AABB snapshotBounds = snapshot.getBounds();
+        final int baseX = minX - (int) Math.floor(snapshotBounds.minX);
+        final int baseY = minY - (int) Math.floor(snapshotBounds.minY);
+        final int baseZ = minZ - (int) Math.floor(snapshotBounds.minZ);
+
+        final boolean empty = sizeX == 0 || sizeY == 0 || sizeZ == 0;
+        if (!empty && (baseX < 0 || baseY < 0 || baseZ < 0
+                || baseX + sizeX > snapshot.getSizeX()
+                || baseY + sizeY > snapshot.getSizeY()
+                || baseZ + sizeZ > snapshot.getSizeZ()))
+            throw new IllegalArgumentException("Bounds " + bounds + " are outside of the field snapshot.");
+
+        return new VoxelRecipeBlocks(snapshot, keys, true,
+                minX, minY, minZ,
+                sizeX, sizeY, sizeZ,
+                baseX, baseY, baseZ,
+                1, 0, 0, 1);
+    }
+
+    private boolean inView(int lx, int ly, int lz) {
+        return lx >= 0 && lx < sizeX && ly >= 0 && ly < sizeY && lz >= 0 && lz < sizeZ;
+    }
+
+    private int paletteAt(int lx, int ly, int lz) {
+        return snapshot.getPaletteIndex(
+                baseX + m00 * lx + m01 * lz,
+                baseY + ly,
+                baseZ + m10 * lx + m11 * lz);
+    }
+
+    private int paletteAt(int index) {
+        final int lx = index % sizeX;
+        final int lz = (index / sizeX) % sizeZ;
+        final int ly = index / (sizeX * sizeZ);
+        return paletteAt(lx, ly, lz);
+    }
+
+    private BlockPos positionAt(int index) {
+        final int lx = index % sizeX;
+        final int lz = (index / sizeX) % sizeZ;
+        final int ly = index / (sizeX * sizeZ);
+        return new BlockPos(originX + lx, originY + ly, originZ + lz);
+    }
+
+    private boolean isUnmatched(int paletteIndex) {
+        if (paletteKeys[paletteIndex] != null)
+            return false;
+
+        return airUnmatched || !snapshot.getPalette().get(paletteIndex).isAir();
+    }
+
+    private IntStream indices() {
+        return IntStream.range(0, sizeX * sizeY * sizeZ);
+    }
+
+    @Override
+    public Optional<String> getComponentAtPosition(BlockPos relative) {
+        final int lx = relative.getX() - originX;
+        final int ly = relative.getY() - originY;
+        final int lz = relative.getZ() - originZ;
+        if (!inView(lx, ly, lz))
+            return Optional.empty();
+
+        return Optional.ofNullable(paletteKeys[paletteAt(lx, ly, lz)]);
+    }
+
+    @Override
+    public BlockState getStateAtPosition(BlockPos relative) {
+        final int lx = relative.getX() - originX;
+        final int ly = relative.getY() - originY;
+        final int lz = relative.getZ() - originZ;
+        if (!inView(lx, ly, lz))
+            return null;
+
+        return snapshot.getPalette().get(paletteAt(lx, ly, lz));
+    }
+
+    @Override
+    public Stream<BlockPos> getPositions() {
+        return indices().mapToObj(this::positionAt);
+    }
+
+    @Override
+    public int getNumberKnownComponents() {
+        return getKnownComponentTotals().size();
+    }
+
+    @Override
+    public void rebuildComponentTotals() {
+        this.componentTotals = null;
+    }
+
+    @Override
+    public Map<String, Integer> getKnownComponentTotals() {
+        if (componentTotals != null)
+            return componentTotals;
+
+        final int[] counts = new int[paletteKeys.length];
+        final int volume = sizeX * sizeY * sizeZ;
+        for (int i = 0; i < volume; i++)
+            counts[paletteAt(i)]++;
+
+        final HashMap<String, Integer> totals = new HashMap<>();
+        for (int p = 0; p < counts.length; p++) {
+            if (counts[p] > 0 && paletteKeys[p] != null)
+                totals.merge(paletteKeys[p], counts[p], Integer::sum);
+        }
+
+        this.componentTotals = totals;
+        return totals;
+    }
+
+    @Override
+    public AABB getSourceBounds() {
+        return sourceBounds;
+    }
+
+    @Override
+    public boolean allIdentified() {
+        final int volume = sizeX * sizeY * sizeZ;
+        for (int i = 0; i < volume; i++) {
+            if (isUnmatched(paletteAt(i)))
+                return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public Stream<BlockPos> getUnmappedPositions() {
+        return indices()
+                .filter(i -> isUnmatched(paletteAt(i)))
+                .mapToObj(this::positionAt);
+    }
+
+    @Override
+    public Stream<BlockPos> getPositionsForComponent(String component) {
+        if (component == null)
+            return Stream.empty();
+
+        return indices()
+                .filter(i -> component.equals(paletteKeys[paletteAt(i)]))
+                .mapToObj(this::positionAt);
+    }
+
+    @Override
+    public AABB getFilledBounds() {
+        return sourceBounds;
+    }
+
+    @Override
+    public IRecipeBlocks slice(AABB bounds) {
+        final AABB intersect = sourceBounds.intersect(bounds);
+
+        final int minX = (int) Math.floor(intersect.minX);
+        final int minY = (int) Math.floor(intersect.minY);
+        final int minZ = (int) Math.floor(intersect.minZ);
+        final int lx = minX - originX;
+        final int ly = minY - originY;
+        final int lz = minZ - originZ;
+
+        return new VoxelRecipeBlocks(snapshot, paletteKeys, false,
+                minX, minY, minZ,
+                Math.max(0, (int) Math.round(intersect.getXsize())),
+                Math.max(0, (int) Math.round(intersect.getYsize())),
+                Math.max(0, (int) Math.round(intersect.getZsize())),
+                baseX + m00 * lx + m01 * lz,
+                baseY + ly,
+                baseZ + m10 * lx + m11 * lz,
+                m00, m01, m10, m11);
+    }
+
+    @Override
+    public IRecipeBlocks offset(Vec3i amount) {
+        return new VoxelRecipeBlocks(snapshot, paletteKeys, false,
+                originX + amount.getX(), originY + amount.getY(), originZ + amount.getZ(),
+                sizeX, sizeY, sizeZ,
+                baseX, baseY, baseZ,
+                m00, m01, m10, m11);
+    }
+
+    /**
+     * Rotates the view in place around its XZ footprint, the same way as
+     * {@link dev.compactmods.crafting.util.BlockSpaceUtil#rotatePositionsInPlace(BlockPos[], Rotation)}.
+     */
+    public VoxelRecipeBlocks rotate(Rotation rotation) {
+        // r and (tx, tz) map a rotated local position back to the unrotated local position
+        final int r00, r01, r10, r11, tx, tz;
+        switch (rotation) {
+            case CLOCKWISE_90:
+                r00 = 0; r01 = 1; r10 = -1; r11 = 0;
+                tx = 0; tz = sizeZ - 1;
+                break;
+
+            case CLOCKWISE_180:
+                r00 = -1; r01 = 0; r10 = 0; r11 = -1;
+                tx = sizeX - 1; tz = sizeZ - 1;
+                break;
+
+            case COUNTERCLOCKWISE_90:
+                r00 = 0; r01 = -1; r10 = 1; r11 = 0;
+                tx = sizeX - 1; tz = 0;
+                break;
+
+            default:
+                r00 = 1; r01 = 0; r10 = 0; r11 = 1;
+                tx = 0; tz = 0;
+                break;
+        }
+
+        final boolean quarterTurn = rotation == Rotation.CLOCKWISE_90 || rotation == Rotation.COUNTERCLOCKWISE_90;
+        return new VoxelRecipeBlocks(snapshot, paletteKeys, airUnmatched,
+                originX, originY, originZ,
+                quarterTurn ? sizeZ : sizeX, sizeY, quarterTurn ? sizeX : sizeZ,
+                baseX + m00 * tx + m01 * tz,
+                baseY,
+                baseZ + m10 * tx + m11 * tz,
+                m00 * r00 + m01 * r10, m00 * r01 + m01 * r11,
+                m10 * r00 + m11 * r10, m10 * r01 + m11 * r11);
+    }
+}
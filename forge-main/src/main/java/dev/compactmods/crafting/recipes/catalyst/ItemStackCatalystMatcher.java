@@ -1,5 +1,6 @@
 package dev.compactmods.crafting.recipes.catalyst;
 
+import javax.annotation.Nullable;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Optional;
@@ -70,6 +71,15 @@ public class ItemStackCatalystMatcher implements ICatalystMatcher, CatalystType<
         return Optional.ofNullable(nbt);
     }
 
+    public Item getItem() {
+        return item;
+    }
+
+    @Nullable
+    public CompoundTag getNbt() {
+        return nbt;
+    }
+
     @Override
     public CatalystType<?> getType() {
         return CCCatalystTypes.ITEM_STACK_CATALYST.get();
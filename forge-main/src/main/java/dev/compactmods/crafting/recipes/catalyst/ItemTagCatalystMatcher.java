@@ -37,6 +37,10 @@ public class ItemTagCatalystMatcher implements ICatalystMatcher, CatalystType<It
         return stack.is(tag);
     }
 
+    public TagKey<Item> getTag() {
+        return tag;
+    }
+
     @Override
     public CatalystType<?> getType() {
         return CCCatalystTypes.TAGGED_ITEM_CATALYST.get();
@@ -138,6 +138,20 @@ public class BlockComponent implements IRecipeComponent, IRecipeBlockComponent {
         return filters.containsKey(property);
     }
 
+    /**
+     * Gets the allowed values for each filtered property, as written in the recipe.
+     */
+    public Map<String, List<String>> getPropertyFilters() {
+        return Collections.unmodifiableMap(allowedValues);
+    }
+
+    /**
+     * Gets every state of the block that passes the property filters.
+     */
+    public Set<BlockState> getValidStates() {
+        return Collections.unmodifiableSet(validStates);
+    }
+
     public Optional<BlockState> getFirstMatch() {
         return validStates.stream().findFirst();
     }
@@ -4,6 +4,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -37,9 +38,16 @@ public class MiniaturizationRecipeComponents implements IRecipeComponents {
      */
     private final Map<String, IRecipeComponent> otherComponents;
 
+    /**
+     * Memoized results of {@link #getKey(BlockState)}. Block states are singletons, so this is
+     * effectively an identity lookup; cleared whenever the block components change.
+     */
+    private final Map<BlockState, Optional<String>> keyCache;
+
     public MiniaturizationRecipeComponents() {
         this.blockComponents = new HashMap<>();
         this.otherComponents = new HashMap<>();
+        this.keyCache = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -72,11 +80,13 @@ public class MiniaturizationRecipeComponents implements IRecipeComponents {
     @Override
     public void registerBlock(String key, IRecipeBlockComponent component) {
         blockComponents.put(key, component);
+        rebuildKeyCache();
     }
 
     @Override
     public void unregisterBlock(String key) {
         blockComponents.remove(key);
+        rebuildKeyCache();
     }
 
     @Override
@@ -93,6 +103,7 @@ public class MiniaturizationRecipeComponents implements IRecipeComponents {
     public void clear() {
         this.otherComponents.clear();
         this.blockComponents.clear();
+        this.keyCache.clear();
     }
 
     public Optional<IRecipeBlockComponent> getBlock(String key) {
@@ -106,6 +117,16 @@ public class MiniaturizationRecipeComponents implements IRecipeComponents {
 
     @Override
     public Optional<String> getKey(BlockState state) {
+        final Optional<String> cached = keyCache.get(state);
+        if (cached != null)
+            return cached;
+
+        final Optional<String> key = findKey(state);
+        keyCache.put(state, key);
+        return key;
+    }
+
+    private Optional<String> findKey(BlockState state) {
         return blockComponents.entrySet()
                 .stream()
                 .filter(bs -> bs.getValue().matches(state))
@@ -113,6 +134,20 @@ public class MiniaturizationRecipeComponents implements IRecipeComponents {
                 .findFirst();
     }
 
+    /**
+     * Drops all memoized keys and pre-fills the states every block component accepts, so
+     * scans only fall back to testing each component for states no component asked for.
+     */
+    private void rebuildKeyCache() {
+        keyCache.clear();
+        for (IRecipeBlockComponent component : blockComponents.values()) {
+            if (component instanceof BlockComponent bc) {
+                for (BlockState state : bc.getValidStates())
+                    keyCache.computeIfAbsent(state, this::findKey);
+            }
+        }
+    }
+
     @Override
     public Stream<String> getEmptyComponents() {
         return blockComponents.keySet()
@@ -23,7 +23,7 @@ import net.minecraft.world.phys.Vec3;
 public class FilledComponentRecipeLayer implements IRecipeLayer, IDynamicSizedRecipeLayer, ISymmetricalLayer {
 
     private final String componentKey;
-    private AABB recipeDimensions;
+    private volatile AABB recipeDimensions;
 
     public static final Codec<FilledComponentRecipeLayer> CODEC = RecordCodecBuilder.create(in -> in.group(
             Codec.STRING.fieldOf("component").forGetter(FilledComponentRecipeLayer::getComponent)
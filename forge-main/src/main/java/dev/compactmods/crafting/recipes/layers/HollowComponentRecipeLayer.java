@@ -23,8 +23,8 @@ import net.minecraft.world.phys.AABB;
 public class HollowComponentRecipeLayer implements IRecipeLayer, IDynamicSizedRecipeLayer, ISymmetricalLayer {
 
     private final String componentKey;
-    private AABB recipeDimensions;
-    private Set<BlockPos> filledPositions;
+    private volatile AABB recipeDimensions;
+    private volatile Set<BlockPos> filledPositions;
 
     public static final Codec<HollowComponentRecipeLayer> CODEC = RecordCodecBuilder.create(i -> i.group(
             Codec.STRING.fieldOf("wall").forGetter(HollowComponentRecipeLayer::getComponent)
@@ -122,7 +122,7 @@ public class HollowComponentRecipeLayer implements IRecipeLayer, IDynamicSizedRe
     public void recalculateRequirements() {
         this.filledPositions = BlockSpaceUtil.getWallPositions(recipeDimensions)
                 .map(BlockPos::immutable)
-                .collect(Collectors.toSet());
+                .collect(Collectors.toUnmodifiableSet());
     }
 
     public String getComponent() {
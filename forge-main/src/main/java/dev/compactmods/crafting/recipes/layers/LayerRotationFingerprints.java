@@ -0,0 +1,158 @@
+package dev.compactmods.crafting.recipes.layers;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Optional;
+import dev.compactmods.crafting.api.recipe.layers.IRecipeBlocks;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.Rotation;
+import net.minecraft.world.phys.AABB;
+
+/**
+ * Precompiled match data for a mixed layer: for every rotation, the exact grid of required component
+ * keys a field layer must contain for the rotated field to line up with the layer's pattern.
+ *
+ * Matching encodes the field layer once and compares it against all four grids, instead of building
+ * rotated copies of the field blocks through {@link RecipeLayerUtil#rotate}.
+ */
+public final class LayerRotationFingerprints {
+
+    private static final Rotation[] ROTATIONS = Rotation.values();
+
+    private final int size;
+    private final HashMap<String, Short> keyOrdinals;
+    private final short[][] grids;
+    private final int[] hashes;
+
+    private LayerRotationFingerprints(int size, HashMap<String, Short> keyOrdinals, short[][] grids) {
+        this.size = size;
+        this.keyOrdinals = keyOrdinals;
+        this.grids = grids;
+        this.hashes = new int[grids.length];
+        for (int i = 0; i < grids.length; i++)
+            hashes[i] = Arrays.hashCode(grids[i]);
+    }
+
+    /**
+     * Compiles the rotation grids for a mixed layer inside a recipe of the given dimensions.
+     *
+     * @return The compiled fingerprints, or null if the recipe footprint isn't square (the rotated
+     * footprints wouldn't line up with the field) and the layer has to be matched the slow way.
+     */
+    @Nullable
+    public static LayerRotationFingerprints compile(MixedComponentRecipeLayer layer, AABB recipeDimensions) {
+        final int size = (int) Math.round(recipeDimensions.getXsize());
+        if (size <= 0 || size != (int) Math.round(recipeDimensions.getZsize()))
+            return null;
+
+        final HashMap<String, Short> ordinals = new HashMap<>();
+        for (String key : layer.getComponents())
+            ordinals.put(key, (short) (ordinals.size() + 1));
+
+        // Unrotated pattern, indexed [z * size + x]
+        final short[] pattern = new short[size * size];
+        for (var entry : ordinals.entrySet()) {
+            final boolean inside = layer.getPositionsForComponent(entry.getKey()).allMatch(pos -> {
+                if (pos.getX() < 0 || pos.getX() >= size || pos.getZ() < 0 || pos.getZ() >= size)
+                    return false;
+
+                pattern[pos.getZ() * size + pos.getX()] = entry.getValue();
+                return true;
+            });
+
+            if (!inside)
+                return null;
+        }
+
+        final short[][] grids = new short[ROTATIONS.length][];
+        for (Rotation rotation : ROTATIONS) {
+            // Same mapping as the in-place rotation: rotated position L reads the field at r * L + t
+            final int r00, r01, r10, r11, tx, tz;
+            switch (rotation) {
+                case CLOCKWISE_90:
+                    r00 = 0; r01 = 1; r10 = -1; r11 = 0;
+                    tx = 0; tz = size - 1;
+                    break;
+
+                case CLOCKWISE_180:
+                    r00 = -1; r01 = 0; r10 = 0; r11 = -1;
+                    tx = size - 1; tz = size - 1;
+                    break;
+
+                case COUNTERCLOCKWISE_90:
+                    r00 = 0; r01 = -1; r10 = 1; r11 = 0;
+                    tx = size - 1; tz = 0;
+                    break;
+
+                default:
+                    r00 = 1; r01 = 0; r10 = 0; r11 = 1;
+                    tx = 0; tz = 0;
+                    break;
+            }
+
+            final short[] grid = new short[size * size];
+            for (int lz = 0; lz < size; lz++) {
+                for (int lx = 0; lx < size; lx++) {
+                    final int fx = r00 * lx + r01 * lz + tx;
+                    final int fz = r10 * lx + r11 * lz + tz;
+                    grid[fz * size + fx] = pattern[lz * size + lx];
+                }
+            }
+
+            grids[rotation.ordinal()] = grid;
+        }
+
+        return new LayerRotationFingerprints(size, ordinals, grids);
+    }
+
+    /**
+     * Finds every rotation of the given (normalized) field layer that matches the layer pattern.
+     *
+     * @return The matching rotations, or null if the field layer isn't the size the fingerprints were
+     * compiled for.
+     */
+    @Nullable
+    public EnumSet<Rotation> findMatchingRotations(IRecipeBlocks layerBlocks) {
+        final AABB bounds = layerBlocks.getSourceBounds();
+        if (bounds.minX != 0 || bounds.minZ != 0
+                || Math.round(bounds.getXsize()) != size
+                || Math.round(bounds.getZsize()) != size)
+            return null;
+
+        // Unidentified blocks fail the layer no matter how it's rotated
+        if (!layerBlocks.allIdentified()) {
+            final boolean anyNonAir = layerBlocks.getUnmappedPositions()
+                    .map(layerBlocks::getStateAtPosition)
+                    .anyMatch(state -> !state.isAir());
+
+            if (anyNonAir)
+                return EnumSet.noneOf(Rotation.class);
+        }
+
+        final short[] encoded = new short[size * size];
+        final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        final int y = (int) Math.floor(bounds.minY);
+        for (int z = 0; z < size; z++) {
+            for (int x = 0; x < size; x++) {
+                final Optional<String> key = layerBlocks.getComponentAtPosition(pos.set(x, y, z));
+                if (key.isPresent()) {
+                    final Short ordinal = keyOrdinals.get(key.get());
+                    if (ordinal != null)
+                        encoded[z * size + x] = ordinal;
+                }
+            }
+        }
+
+        final int hash = Arrays.hashCode(encoded);
+        final EnumSet<Rotation> matched = EnumSet.noneOf(Rotation.class);
+        for (Rotation rotation : ROTATIONS) {
+            final int i = rotation.ordinal();
+            if (hashes[i] == hash && Arrays.equals(grids[i], encoded))
+                matched.add(rotation);
+        }
+
+        return matched;
+    }
+}
@@ -3,6 +3,7 @@ package dev.compactmods.crafting.recipes.layers;
 import java.util.*;
 import dev.compactmods.crafting.api.recipe.layers.IRecipeBlocks;
 import dev.compactmods.crafting.recipes.blocks.RecipeBlocks;
+import dev.compactmods.crafting.recipes.blocks.VoxelRecipeBlocks;
 import dev.compactmods.crafting.util.BlockSpaceUtil;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.Rotation;
@@ -14,6 +15,10 @@ public final class RecipeLayerUtil {
     }
 
     public static IRecipeBlocks rotate(IRecipeBlocks original, Rotation rotation) {
+        // Voxel-backed blocks rotate as a remapped view, without copying anything
+        if (original instanceof VoxelRecipeBlocks voxels)
+            return voxels.rotate(rotation);
+
         if (rotation == Rotation.NONE) {
             return new RecipeBlocks(original);
         }
@@ -28,6 +28,31 @@ public class ServerConfig {
      */
     public static ForgeConfigSpec.BooleanValue RECIPE_MATCHING;
 
+    /**
+     * Enabled if recipe matching should run on background threads instead of the server thread.
+     */
+    public static ForgeConfigSpec.BooleanValue ASYNC_MATCHING;
+
+    /**
+     * Number of background threads used for recipe matching when async matching is enabled.
+     */
+    public static ForgeConfigSpec.IntValue MATCHING_WORKERS;
+
+    /**
+     * Time, in microseconds, that recipe scans may take per level each tick before the rest wait.
+     */
+    public static ForgeConfigSpec.IntValue SCAN_BUDGET_MICROS;
+
+    /**
+     * Maximum number of recipe scans a level runs each tick.
+     */
+    public static ForgeConfigSpec.IntValue MAX_SCANS_PER_TICK;
+
+    /**
+     * Ticks between fallback catalyst lookups for matched fields; item entity events trigger a lookup sooner.
+     */
+    public static ForgeConfigSpec.IntValue CATALYST_POLL_INTERVAL;
+
     private static ForgeConfigSpec.EnumValue<FieldDestabilizeHandling> FIELD_DESTABILIZE_HANDLING;
     public static FieldDestabilizeHandling DESTABILIZE_HANDLING = FieldDestabilizeHandling.RESTORE_ALL;
     
@@ -62,6 +87,26 @@ public class ServerConfig {
                 .comment("Changes how the field handles a destabilization event (such as a projector breaking mid-craft)")
                 .defineEnum("destabilizeHandling", FieldDestabilizeHandling.RESTORE_ALL, EnumGetMethod.NAME_IGNORECASE);
 
+        ASYNC_MATCHING = builder
+                .comment("Matches field contents against recipes on background threads. Results are applied on a later tick.")
+                .define("asyncMatching", false);
+
+        MATCHING_WORKERS = builder
+                .comment("Number of background threads used for recipe matching, when asyncMatching is enabled.")
+                .defineInRange("matchingWorkers", 2, 1, 16);
+
+        SCAN_BUDGET_MICROS = builder
+                .comment("Time in microseconds that field recipe scans may use per dimension each tick. Scans past the budget wait for the next tick.")
+                .defineInRange("scanBudgetMicros", 2000, 0, 50000);
+
+        MAX_SCANS_PER_TICK = builder
+                .comment("Maximum number of field recipe scans per dimension each tick.")
+                .defineInRange("maxScansPerTick", 8, 1, 1024);
+
+        CATALYST_POLL_INTERVAL = builder
+                .comment("Ticks between fallback searches for a catalyst in matched fields. Dropped items are normally noticed right away.")
+                .defineInRange("catalystPollInterval", 20, 1, 1200);
+
         builder.pop();
 
         CONFIG = builder.build();
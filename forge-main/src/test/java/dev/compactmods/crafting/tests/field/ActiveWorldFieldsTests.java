@@ -0,0 +1,224 @@
+package dev.compactmods.crafting.tests.field;
+
+import dev.compactmods.crafting.CompactCrafting;
+import dev.compactmods.crafting.api.field.MiniaturizationFieldSize;
+import dev.compactmods.crafting.field.ActiveWorldFields;
+import dev.compactmods.crafting.field.MiniaturizationField;
+import dev.compactmods.crafting.server.ServerConfig;
+import dev.compactmods.crafting.tests.GameTestTemplates;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+@PrefixGameTestTemplate(false)
+@GameTestHolder(CompactCrafting.MOD_ID)
+public class ActiveWorldFieldsTests {
+
+    @GameTest(template = GameTestTemplates.EMPTY)
+    public static void finds_field_containing_position(final GameTestHelper test) {
+        final ActiveWorldFields fields = new ActiveWorldFields(test.getLevel());
+
+        // Centered right on a section boundary, so the field spans eight chunk sections
+        final BlockPos center = new BlockPos(16, 64, 16);
+        final MiniaturizationField field = MiniaturizationField.fromSizeAndCenter(MiniaturizationFieldSize.MEDIUM, center);
+        fields.addFieldInstance(field);
+
+        if (fields.getFieldContaining(center).isEmpty())
+            test.fail("Expected the field center to resolve to the field.");
+
+        if (fields.getFieldContaining(center.offset(-2, -2, -2)).isEmpty())
+            test.fail("Expected the lower field corner to resolve to the field.");
+
+        if (fields.getFieldContaining(center.offset(2, 2, 2)).isEmpty())
+            test.fail("Expected the upper field corner to resolve to the field.");
+
+        if (fields.getFieldContaining(center.offset(3, 0, 0)).isPresent())
+            test.fail("Position outside of the field bounds should not resolve to a field.");
+
+        test.succeed();
+    }
+
+    @GameTest(template = GameTestTemplates.EMPTY)
+    public static void unregistered_field_is_removed_from_index(final GameTestHelper test) {
+        final ActiveWorldFields fields = new ActiveWorldFields(test.getLevel());
+
+        final BlockPos center = new BlockPos(8, 64, 8);
+        final MiniaturizationField field = MiniaturizationField.fromSizeAndCenter(MiniaturizationFieldSize.SMALL, center);
+        fields.addFieldInstance(field);
+        fields.unregisterField(center);
+
+        if (fields.getFieldContaining(center).isPresent())
+            test.fail("Field was unregistered but is still found by position.");
+
+        test.succeed();
+    }
+
+    @GameTest(template = GameTestTemplates.EMPTY)
+    public static void finds_fields_by_center_chunk(final GameTestHelper test) {
+        final ActiveWorldFields fields = new ActiveWorldFields(test.getLevel());
+
+        final BlockPos center = new BlockPos(40, 64, 8);
+        fields.addFieldInstance(MiniaturizationField.fromSizeAndCenter(MiniaturizationFieldSize.SMALL, center));
+
+        if (fields.getFields(new ChunkPos(center)).count() != 1)
+            test.fail("Expected exactly one field in the center's chunk.");
+
+        if (fields.getFields(new ChunkPos(0, 0)).findAny().isPresent())
+            test.fail("No field is centered in chunk 0,0.");
+
+        fields.unregisterField(center);
+        if (fields.getFields(new ChunkPos(center)).findAny().isPresent())
+            test.fail("Field was unregistered but is still listed for its chunk.");
+
+        test.succeed();
+    }
+
+    @GameTest(template = GameTestTemplates.EMPTY)
+    public static void routes_chunk_changes_to_watching_fields(final GameTestHelper test) {
+        final ActiveWorldFields fields = new ActiveWorldFields(test.getLevel());
+
+        final BlockPos center = new BlockPos(40, 64, 8);
+        final int[] notified = {0};
+        fields.addFieldInstance(new BlankMiniaturizationField() {
+            @Override
+            public BlockPos getCenter() {
+                return center;
+            }
+
+            @Override
+            public void onChunkLoadChanged(ChunkPos chunk, boolean loaded) {
+                notified[0]++;
+            }
+        });
+
+        fields.onChunkLoadChanged(new ChunkPos(0, 0), true);
+        if (notified[0] != 0)
+            test.fail("Field should not be notified about chunks it doesn't depend on.");
+
+        fields.onChunkLoadChanged(new ChunkPos(center), true);
+        if (notified[0] != 1)
+            test.fail("Expected the field to be notified once about its center chunk; got " + notified[0]);
+
+        fields.unregisterField(center);
+        fields.onChunkLoadChanged(new ChunkPos(center), true);
+        if (notified[0] != 1)
+            test.fail("Unregistered field should no longer be notified.");
+
+        test.succeed();
+    }
+
+    @GameTest(template = GameTestTemplates.EMPTY)
+    public static void sleeping_field_ticks_only_when_woken(final GameTestHelper test) {
+        final ActiveWorldFields fields = new ActiveWorldFields(test.getLevel());
+
+        final BlockPos center = new BlockPos(8, 64, 8);
+        final int[] ticks = {0};
+        final BlankMiniaturizationField field = new BlankMiniaturizationField() {
+            @Override
+            public BlockPos getCenter() {
+                return center;
+            }
+
+            @Override
+            public void tick() {
+                ticks[0]++;
+            }
+
+            @Override
+            public int getTickDelay() {
+                return 1000;
+            }
+        };
+
+        fields.addFieldInstance(field);
+        fields.tickFields();
+        if (ticks[0] != 1)
+            test.fail("Newly added field should tick right away; ticked " + ticks[0] + " times.");
+
+        test.runAfterDelay(1, () -> {
+            fields.tickFields();
+            if (ticks[0] != 1)
+                test.fail("Sleeping field should not tick before its delay is up.");
+
+            fields.wakeField(field);
+            test.runAfterDelay(1, () -> {
+                fields.tickFields();
+                if (ticks[0] != 2)
+                    test.fail("Woken field should tick on the next tick; ticked " + ticks[0] + " times.");
+
+                test.succeed();
+            });
+        });
+    }
+
+    @GameTest(template = GameTestTemplates.EMPTY)
+    public static void scan_queue_carries_over_past_budget(final GameTestHelper test) {
+        final ActiveWorldFields fields = new ActiveWorldFields(test.getLevel());
+
+        final int[] scans = {0};
+        final int total = ServerConfig.MAX_SCANS_PER_TICK.get() + 4;
+        for (int i = 0; i < total; i++) {
+            final BlockPos center = new BlockPos(i * 16, 64, 0);
+            final BlankMiniaturizationField field = new BlankMiniaturizationField() {
+                @Override
+                public BlockPos getCenter() {
+                    return center;
+                }
+
+                @Override
+                public void doRecipeScan() {
+                    scans[0]++;
+                }
+            };
+
+            fields.addFieldInstance(field);
+            fields.queueScan(field);
+            fields.queueScan(field);
+        }
+
+        if (fields.getQueuedScans() != total)
+            test.fail("Queueing a field twice should only scan it once; queued " + fields.getQueuedScans());
+
+        fields.tickFields();
+        if (scans[0] < 1 || scans[0] > ServerConfig.MAX_SCANS_PER_TICK.get())
+            test.fail("Expected between one scan and the per-tick limit; ran " + scans[0]);
+
+        if (fields.getQueuedScans() != total - scans[0])
+            test.fail("Scans past the budget should stay queued for the next tick.");
+
+        test.succeed();
+    }
+
+    @GameTest(template = GameTestTemplates.EMPTY)
+    public static void field_tracks_chunk_loads_from_events(final GameTestHelper test) {
+        final ActiveWorldFields fields = new ActiveWorldFields(test.getLevel());
+
+        final BlockPos center = test.absolutePos(new BlockPos(8, 2, 8));
+        final MiniaturizationField field = MiniaturizationField.fromSizeAndCenter(MiniaturizationFieldSize.MEDIUM, center);
+        fields.addFieldInstance(field);
+        field.checkLoaded();
+
+        if (!field.isLoaded())
+            test.fail("Field in a loaded test area should be loaded.");
+
+        final boolean watchesProjectors = field.getProjectorPositions()
+                .mapToLong(ChunkPos::asLong)
+                .allMatch(chunk -> field.getDependentChunks().anyMatch(c -> c == chunk));
+
+        if (!watchesProjectors)
+            test.fail("Field should depend on every projector chunk.");
+
+        fields.onChunkLoadChanged(new ChunkPos(center), false);
+        if (field.isLoaded())
+            test.fail("Field should unload when its center chunk unloads.");
+
+        fields.onChunkLoadChanged(new ChunkPos(center), true);
+        if (!field.isLoaded())
+            test.fail("Field should load again once its center chunk is back.");
+
+        test.succeed();
+    }
+}
@@ -0,0 +1,50 @@
+package dev.compactmods.crafting.tests.field;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import dev.compactmods.crafting.CompactCrafting;
+import dev.compactmods.crafting.api.field.MiniaturizationFieldSize;
+import dev.compactmods.crafting.field.AsyncRecipeMatcher;
+import dev.compactmods.crafting.field.FieldSnapshot;
+import dev.compactmods.crafting.recipes.MiniaturizationRecipe;
+import dev.compactmods.crafting.recipes.blocks.VoxelRecipeBlocks;
+import dev.compactmods.crafting.tests.recipes.util.RecipeTestUtil;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestAssertException;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+@PrefixGameTestTemplate(false)
+@GameTestHolder(CompactCrafting.MOD_ID)
+public class AsyncRecipeMatcherTests {
+
+    @GameTest(template = "recipes/ender_crystal")
+    public static void shared_recipe_matches_concurrently(final GameTestHelper test) {
+        final MiniaturizationRecipe recipe = RecipeTestUtil.getRecipeByName(test, "ender_crystal").orElseThrow();
+        final FieldSnapshot snapshot = FieldSnapshot.capture(test.getLevel(), RecipeTestUtil.getFieldBounds(MiniaturizationFieldSize.MEDIUM, test));
+
+        final List<CompletableFuture<Boolean>> scans = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final CompletableFuture<Boolean> scan = AsyncRecipeMatcher.submit(() -> recipe.matches(
+                    VoxelRecipeBlocks.create(snapshot, recipe.getComponents(), snapshot.getFilledBounds())));
+
+            if (scan != null)
+                scans.add(scan);
+        }
+
+        if (scans.isEmpty()) {
+            test.fail("Expected the matching pool to accept at least one scan.");
+            return;
+        }
+
+        test.succeedWhen(() -> {
+            if (!scans.stream().allMatch(CompletableFuture::isDone))
+                throw new GameTestAssertException("Scans still running.");
+
+            if (!scans.stream().allMatch(s -> !s.isCompletedExceptionally() && s.join()))
+                throw new GameTestAssertException("Every concurrent scan should have matched the ender crystal recipe.");
+        });
+    }
+}
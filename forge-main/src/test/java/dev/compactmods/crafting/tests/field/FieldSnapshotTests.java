@@ -0,0 +1,121 @@
+package dev.compactmods.crafting.tests.field;
+
+import dev.compactmods.crafting.CompactCrafting;
+import dev.compactmods.crafting.api.field.MiniaturizationFieldSize;
+import dev.compactmods.crafting.field.FieldSnapshot;
+import dev.compactmods.crafting.tests.recipes.util.RecipeTestUtil;
+import dev.compactmods.crafting.util.BlockSpaceUtil;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
+import net.minecraft.world.phys.AABB;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+@PrefixGameTestTemplate(false)
+@GameTestHolder(CompactCrafting.MOD_ID)
+public class FieldSnapshotTests {
+
+    @GameTest(template = "recipes/ender_crystal")
+    public static void snapshot_matches_level(final GameTestHelper test) {
+        final AABB fieldBounds = RecipeTestUtil.getFieldBounds(MiniaturizationFieldSize.MEDIUM, test);
+        final FieldSnapshot snapshot = FieldSnapshot.capture(test.getLevel(), fieldBounds);
+
+        final BlockPos[] filled = BlockSpaceUtil.getBlocksIn(fieldBounds)
+                .filter(p -> !test.getLevel().isEmptyBlock(p))
+                .map(BlockPos::immutable)
+                .toArray(BlockPos[]::new);
+
+        if (filled.length != snapshot.getFilledCount())
+            test.fail("Expected " + filled.length + " filled positions; got " + snapshot.getFilledCount());
+
+        if (!BlockSpaceUtil.getBoundsForBlocks(filled).equals(snapshot.getFilledBounds()))
+            test.fail("Snapshot filled bounds do not match the bounds of the filled positions.");
+
+        BlockSpaceUtil.getBlocksIn(fieldBounds).forEach(pos -> {
+            if (snapshot.getBlockState(pos) != test.getLevel().getBlockState(pos))
+                test.fail("Snapshot state differs from the level at " + pos);
+        });
+
+        int paletteTotal = 0;
+        for (int i = 0; i < snapshot.getPalette().size(); i++)
+            paletteTotal += snapshot.getPaletteCount(i);
+
+        if (paletteTotal != 125)
+            test.fail("Expected palette counts to cover all 125 field positions; got " + paletteTotal);
+
+        test.succeed();
+    }
+
+    @GameTest(template = "empty_medium")
+    public static void empty_field_has_no_filled_bounds(final GameTestHelper test) {
+        final AABB fieldBounds = RecipeTestUtil.getFieldBounds(MiniaturizationFieldSize.MEDIUM, test);
+        final FieldSnapshot snapshot = FieldSnapshot.capture(test.getLevel(), fieldBounds);
+
+        if (!snapshot.isEmpty())
+            test.fail("Expected an empty snapshot.");
+
+        if (snapshot.getFilledBounds().getSize() != 0)
+            test.fail("Expected empty filled bounds.");
+
+        test.succeed();
+    }
+
+    @GameTest(template = "recipes/ender_crystal")
+    public static void same_contents_detects_single_change(final GameTestHelper test) {
+        final AABB fieldBounds = RecipeTestUtil.getFieldBounds(MiniaturizationFieldSize.MEDIUM, test);
+        final FieldSnapshot before = FieldSnapshot.capture(test.getLevel(), fieldBounds);
+
+        if (!before.sameContents(FieldSnapshot.capture(test.getLevel(), fieldBounds)))
+            test.fail("Two captures of an unchanged field should have the same contents.");
+
+        test.setBlock(new BlockPos(2, 3, 2), Blocks.GLASS.defaultBlockState());
+        if (before.sameContents(FieldSnapshot.capture(test.getLevel(), fieldBounds)))
+            test.fail("Capture after changing the center block should differ.");
+
+        test.succeed();
+    }
+
+    @GameTest(template = "recipes/ender_crystal")
+    public static void saved_snapshot_loads_same_contents(final GameTestHelper test) {
+        final AABB fieldBounds = RecipeTestUtil.getFieldBounds(MiniaturizationFieldSize.MEDIUM, test);
+        final FieldSnapshot snapshot = FieldSnapshot.capture(test.getLevel(), fieldBounds);
+
+        final FieldSnapshot loaded = FieldSnapshot.load(snapshot.save(), fieldBounds, test.getLevel());
+        if (loaded == null) {
+            test.fail("Saved snapshot could not be loaded.");
+            return;
+        }
+
+        if (!snapshot.sameContents(loaded))
+            test.fail("Loaded snapshot differs from the one that was saved.");
+
+        test.succeed();
+    }
+
+    @GameTest(template = "recipes/ender_crystal")
+    public static void converts_structure_template_nbt(final GameTestHelper test) {
+        final AABB fieldBounds = RecipeTestUtil.getFieldBounds(MiniaturizationFieldSize.MEDIUM, test);
+        final FieldSnapshot snapshot = FieldSnapshot.capture(test.getLevel(), fieldBounds);
+
+        final int dims = MiniaturizationFieldSize.MEDIUM.getDimensions();
+        final StructureTemplate template = new StructureTemplate();
+        template.fillFromWorld(test.getLevel(), new BlockPos(fieldBounds.minX, fieldBounds.minY, fieldBounds.minZ),
+                MiniaturizationFieldSize.MEDIUM.getBoundsAsBlockPos(), false, null);
+
+        final CompoundTag converted = FieldSnapshot.convertTemplate(template.save(new CompoundTag()), dims, dims, dims);
+        if (converted == null) {
+            test.fail("Template without block entities should convert.");
+            return;
+        }
+
+        final FieldSnapshot loaded = FieldSnapshot.load(converted, fieldBounds, test.getLevel());
+        if (loaded == null || !snapshot.sameContents(loaded))
+            test.fail("Converted template differs from the field contents.");
+
+        test.succeed();
+    }
+}
@@ -0,0 +1,107 @@
+package dev.compactmods.crafting.tests.field;
+
+import java.lang.management.ManagementFactory;
+import dev.compactmods.crafting.CompactCrafting;
+import dev.compactmods.crafting.api.EnumCraftingState;
+import dev.compactmods.crafting.api.field.MiniaturizationFieldSize;
+import dev.compactmods.crafting.field.ActiveWorldFields;
+import dev.compactmods.crafting.field.MiniaturizationField;
+import dev.compactmods.crafting.recipes.MiniaturizationRecipe;
+import dev.compactmods.crafting.server.ServerConfig;
+import dev.compactmods.crafting.tests.GameTestTemplates;
+import dev.compactmods.crafting.tests.recipes.util.RecipeTestUtil;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+@PrefixGameTestTemplate(false)
+@GameTestHolder(CompactCrafting.MOD_ID)
+public class FieldTickAllocationTests {
+
+    /**
+     * Long enough for every slot of the tick scheduler to have been used once and sized for the fields.
+     */
+    private static final int WARMUP_TICKS = 140;
+
+    /**
+     * Kept under the default catalyst poll interval, so the matched field only waits during the window.
+     */
+    private static final int MEASURED_TICKS = 10;
+
+    @GameTest(template = GameTestTemplates.EMPTY, timeoutTicks = WARMUP_TICKS + MEASURED_TICKS + 20)
+    public static void idle_field_ticks_do_not_allocate(final GameTestHelper test) {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            // Nothing to measure with on this JVM
+            test.succeed();
+            return;
+        }
+
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        final ActiveWorldFields fields = new ActiveWorldFields(test.getLevel());
+        final MiniaturizationField[] all = new MiniaturizationField[17];
+        for (int i = 0; i < 16; i++)
+            all[i] = addLoadedField(fields, new BlockPos(i * 16, 64, 0));
+
+        // One field with a recipe, waiting on its next catalyst poll
+        final MiniaturizationRecipe recipe = RecipeTestUtil.getRecipeByName(test, "ender_crystal").orElseThrow();
+        final MiniaturizationField matched = addLoadedField(fields, new BlockPos(0, 64, 64));
+        matched.setRecipe(recipe.getRecipeIdentifier());
+        all[16] = matched;
+
+        if (matched.getCraftingState() != EnumCraftingState.MATCHED) {
+            test.fail("Expected the recipe field to be waiting for a catalyst.");
+            return;
+        }
+
+        final int pollInterval = ServerConfig.CATALYST_POLL_INTERVAL.get();
+        final int[] ticks = {0};
+        final long[] allocated = {0};
+        test.onEachTick(() -> {
+            if (ticks[0] > WARMUP_TICKS + MEASURED_TICKS)
+                return;
+
+            // Sleeping fields would skip their tick entirely; wake them all so every measured tick runs them
+            for (MiniaturizationField field : all)
+                fields.wakeField(field);
+
+            // Poll for a catalyst on the last warmup tick, so none is due while measuring
+            if (ticks[0] == WARMUP_TICKS)
+                matched.setCraftingState(EnumCraftingState.MATCHED);
+
+            final long before = threads.getCurrentThreadAllocatedBytes();
+            fields.tickFields();
+            final long after = threads.getCurrentThreadAllocatedBytes();
+
+            if (ticks[0]++ <= WARMUP_TICKS)
+                return;
+
+            if (matched.getTickDelay() >= pollInterval) {
+                test.fail("The matched field polled for a catalyst inside the measured window; poll interval is " + pollInterval);
+                return;
+            }
+
+            allocated[0] += after - before;
+            if (ticks[0] <= WARMUP_TICKS + MEASURED_TICKS)
+                return;
+
+            if (allocated[0] != 0)
+                test.fail("Ticking fields allocated " + allocated[0] + " bytes over " + MEASURED_TICKS + " ticks.");
+            else
+                test.succeed();
+        });
+    }
+
+    private static MiniaturizationField addLoadedField(ActiveWorldFields fields, BlockPos center) {
+        final MiniaturizationField field = MiniaturizationField.fromSizeAndCenter(MiniaturizationFieldSize.MEDIUM, center);
+        fields.addFieldInstance(field);
+
+        // Loaded as far as the field is concerned, without depending on what the test level has loaded
+        field.getDependentChunks().forEach(chunk -> field.onChunkLoadChanged(new ChunkPos(chunk), true));
+        return field;
+    }
+}
@@ -0,0 +1,110 @@
+package dev.compactmods.crafting.tests.field;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import dev.compactmods.crafting.CompactCrafting;
+import dev.compactmods.crafting.api.EnumCraftingState;
+import dev.compactmods.crafting.api.field.IFieldListener;
+import dev.compactmods.crafting.api.field.IMiniaturizationField;
+import dev.compactmods.crafting.api.field.MiniaturizationFieldSize;
+import dev.compactmods.crafting.api.recipe.IMiniaturizationRecipe;
+import dev.compactmods.crafting.field.FieldChangePublisher;
+import dev.compactmods.crafting.field.MiniaturizationField;
+import dev.compactmods.crafting.recipes.MiniaturizationRecipe;
+import dev.compactmods.crafting.tests.recipes.util.RecipeTestUtil;
+import dev.compactmods.crafting.util.BlockSpaceUtil;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.AABB;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+@PrefixGameTestTemplate(false)
+@GameTestHolder(CompactCrafting.MOD_ID)
+public class MiniaturizationFieldTests {
+
+    @GameTest(template = "recipes/ender_crystal")
+    public static void clear_blocks_empties_field(final GameTestHelper test) {
+        final AABB fieldBounds = RecipeTestUtil.getFieldBounds(MiniaturizationFieldSize.MEDIUM, test);
+        final MiniaturizationField field = MiniaturizationField.fromSizeAndCenter(MiniaturizationFieldSize.MEDIUM, new BlockPos(fieldBounds.getCenter()));
+        field.setLevel(test.getLevel());
+
+        field.clearBlocks();
+
+        BlockSpaceUtil.getBlocksIn(fieldBounds).forEach(pos -> {
+            if (!test.getLevel().isEmptyBlock(pos))
+                test.fail("Expected the field to be cleared; found " + test.getLevel().getBlockState(pos) + " at " + pos);
+        });
+
+        test.succeed();
+    }
+
+    @GameTest(template = "recipes/ender_crystal")
+    public static void destabilize_restores_matched_blocks(final GameTestHelper test) {
+        final AABB fieldBounds = RecipeTestUtil.getFieldBounds(MiniaturizationFieldSize.MEDIUM, test);
+        final MiniaturizationField field = MiniaturizationField.fromSizeAndCenter(MiniaturizationFieldSize.MEDIUM, new BlockPos(fieldBounds.getCenter()));
+        field.setLevel(test.getLevel());
+
+        final Map<BlockPos, BlockState> before = new HashMap<>();
+        BlockSpaceUtil.getBlocksIn(fieldBounds).forEach(pos -> before.put(pos.immutable(), test.getLevel().getBlockState(pos)));
+
+        field.doRecipeScan();
+        if (field.getCraftingState() != EnumCraftingState.MATCHED) {
+            test.fail("Expected the ender crystal recipe to match before crafting.");
+            return;
+        }
+
+        field.clearBlocks();
+        field.setCraftingState(EnumCraftingState.CRAFTING);
+        field.handleDestabilize();
+
+        before.forEach((pos, expected) -> {
+            final BlockState actual = test.getLevel().getBlockState(pos);
+            if (actual != expected)
+                test.fail("Expected " + expected + " to be restored at " + pos + "; found " + actual);
+        });
+
+        test.succeed();
+    }
+
+    @GameTest(template = "recipes/ender_crystal")
+    public static void repeated_recipe_changes_are_suppressed(final GameTestHelper test) {
+        final MiniaturizationRecipe recipe = RecipeTestUtil.getRecipeByName(test, "ender_crystal").orElseThrow();
+        final AABB fieldBounds = RecipeTestUtil.getFieldBounds(MiniaturizationFieldSize.MEDIUM, test);
+        final MiniaturizationField field = MiniaturizationField.fromSizeAndCenter(MiniaturizationFieldSize.MEDIUM, new BlockPos(fieldBounds.getCenter()));
+        field.setLevel(test.getLevel());
+
+        final AtomicInteger changes = new AtomicInteger();
+        field.registerListener(LazyOptional.of(() -> new IFieldListener() {
+            @Override
+            public void onRecipeChanged(IMiniaturizationField field, @Nullable IMiniaturizationRecipe recipe) {
+                changes.incrementAndGet();
+            }
+        }));
+
+        field.setRecipe(recipe.getRecipeIdentifier());
+        field.setRecipe(recipe.getRecipeIdentifier());
+        for (int i = 0; i < 3; i++)
+            field.clearRecipe();
+
+        if (changes.get() != 2)
+            test.fail("Expected listeners to hear about the match and the clear only; got " + changes.get() + " changes.");
+
+        // Matched, then cleared again before the field ticked; clients still have no recipe
+        field.tick();
+
+        final FieldChangePublisher publisher = field.getChangePublisher();
+        if (publisher.getListenerSuppressed() != 3)
+            test.fail("Expected 3 suppressed listener events; got " + publisher.getListenerSuppressed());
+
+        if (publisher.getPacketsSent() != 0)
+            test.fail("Expected no recipe packets for a change that was undone within the tick; sent " + publisher.getPacketsSent());
+
+        test.succeed();
+    }
+}
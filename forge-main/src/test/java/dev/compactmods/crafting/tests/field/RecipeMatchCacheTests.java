@@ -0,0 +1,70 @@
+package dev.compactmods.crafting.tests.field;
+
+import dev.compactmods.crafting.CompactCrafting;
+import dev.compactmods.crafting.api.field.MiniaturizationFieldSize;
+import dev.compactmods.crafting.field.FieldSnapshot;
+import dev.compactmods.crafting.field.RecipeMatchCache;
+import dev.compactmods.crafting.recipes.MiniaturizationRecipeIndex;
+import dev.compactmods.crafting.tests.recipes.util.RecipeTestUtil;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+@PrefixGameTestTemplate(false)
+@GameTestHolder(CompactCrafting.MOD_ID)
+public class RecipeMatchCacheTests {
+
+    private static RecipeMatchCache.Key captureKey(final GameTestHelper test) {
+        final FieldSnapshot snapshot = FieldSnapshot.capture(test.getLevel(), RecipeTestUtil.getFieldBounds(MiniaturizationFieldSize.MEDIUM, test));
+        return RecipeMatchCache.key(snapshot);
+    }
+
+    @GameTest(template = "recipes/ender_crystal")
+    public static void rotated_structures_share_a_key(final GameTestHelper test) {
+        test.setBlock(new BlockPos(0, 3, 2), Blocks.OBSIDIAN.defaultBlockState());
+        final RecipeMatchCache.Key before = captureKey(test);
+
+        // Same structure turned a quarter turn around the field center
+        test.setBlock(new BlockPos(0, 3, 2), Blocks.GLASS.defaultBlockState());
+        test.setBlock(new BlockPos(2, 3, 4), Blocks.OBSIDIAN.defaultBlockState());
+        final RecipeMatchCache.Key rotated = captureKey(test);
+
+        if (before.getHash() != rotated.getHash())
+            test.fail("Rotated copies of a structure should hash the same.");
+
+        final RecipeMatchCache cache = new RecipeMatchCache();
+        final MiniaturizationRecipeIndex index = MiniaturizationRecipeIndex.get(test.getLevel().getRecipeManager());
+        cache.put(before, null);
+        if (cache.get(index, rotated) == null)
+            test.fail("Expected the rotated structure to hit the cached result.");
+
+        test.succeed();
+    }
+
+    @GameTest(template = "recipes/ender_crystal")
+    public static void counts_hits_and_misses(final GameTestHelper test) {
+        final RecipeMatchCache cache = new RecipeMatchCache();
+        final MiniaturizationRecipeIndex index = MiniaturizationRecipeIndex.get(test.getLevel().getRecipeManager());
+        final RecipeMatchCache.Key key = captureKey(test);
+
+        if (cache.get(index, key) != null)
+            test.fail("Empty cache should miss.");
+
+        cache.put(key, RecipeTestUtil.getRecipeByName(test, "ender_crystal").orElseThrow());
+        final RecipeMatchCache.Entry hit = cache.get(index, key);
+        if (hit == null || hit.getRecipe() == null)
+            test.fail("Expected a hit holding the ender crystal recipe.");
+
+        test.setBlock(new BlockPos(2, 3, 2), Blocks.GLASS.defaultBlockState());
+        if (cache.get(index, captureKey(test)) != null)
+            test.fail("Changed structure should miss.");
+
+        if (cache.getHits() != 1 || cache.getMisses() != 2)
+            test.fail("Expected 1 hit and 2 misses; got " + cache.getHits() + " and " + cache.getMisses());
+
+        test.succeed();
+    }
+}
@@ -0,0 +1,160 @@
+package dev.compactmods.crafting.tests.network;
+
+import dev.compactmods.crafting.CompactCrafting;
+import dev.compactmods.crafting.api.EnumCraftingState;
+import dev.compactmods.crafting.api.field.MiniaturizationFieldSize;
+import dev.compactmods.crafting.field.MiniaturizationField;
+import dev.compactmods.crafting.network.FieldCraftingStartedPacket;
+import dev.compactmods.crafting.network.FieldDeactivatedPacket;
+import dev.compactmods.crafting.network.FieldRecipeChangedPacket;
+import dev.compactmods.crafting.network.FieldSyncData;
+import dev.compactmods.crafting.network.FieldWatchBundlePacket;
+import dev.compactmods.crafting.network.FieldWatchQueue;
+import dev.compactmods.crafting.recipes.MiniaturizationRecipe;
+import dev.compactmods.crafting.tests.GameTestTemplates;
+import dev.compactmods.crafting.tests.recipes.util.RecipeTestUtil;
+import io.netty.buffer.Unpooled;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+@PrefixGameTestTemplate(false)
+@GameTestHolder(CompactCrafting.MOD_ID)
+public class FieldPacketTests {
+
+    private static MiniaturizationField craftingField(final GameTestHelper test) {
+        final MiniaturizationRecipe recipe = RecipeTestUtil.getRecipeByName(test, "ender_crystal").orElseThrow();
+
+        final MiniaturizationField field = MiniaturizationField.fromSizeAndCenter(MiniaturizationFieldSize.MEDIUM, new BlockPos(-120, 64, 3000));
+        field.setLevel(test.getLevel());
+        field.setRecipe(recipe.getRecipeIdentifier());
+        field.setCraftingState(EnumCraftingState.CRAFTING);
+        field.setProgress(150);
+        return field;
+    }
+
+    @GameTest(template = GameTestTemplates.EMPTY)
+    public static void sync_data_round_trips(final GameTestHelper test) {
+        final RecipeManager recipes = test.getLevel().getRecipeManager();
+        final MiniaturizationField field = craftingField(test);
+
+        final FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        FieldSyncData.of(field, recipes).write(buf);
+
+        // center (8) + size (1) + state (1) + recipe id (1) + progress (2)
+        if (buf.readableBytes() > 13)
+            test.fail("Expected field sync data to fit in 13 bytes; took " + buf.readableBytes());
+
+        final MiniaturizationField read = new MiniaturizationField();
+        read.setLevel(test.getLevel());
+        FieldSyncData.read(buf).applyTo(read, recipes);
+
+        if (!read.getCenter().equals(field.getCenter()))
+            test.fail("Center did not survive the round trip.");
+
+        if (read.getFieldSize() != field.getFieldSize())
+            test.fail("Size did not survive the round trip.");
+
+        if (read.getCraftingState() != EnumCraftingState.CRAFTING)
+            test.fail("Crafting state did not survive the round trip.");
+
+        if (read.getProgress() != 150)
+            test.fail("Expected progress 150; got " + read.getProgress());
+
+        if (!read.getCurrentRecipe().map(r -> r.getRecipeIdentifier().equals(field.getCurrentRecipe().orElseThrow().getRecipeIdentifier())).orElse(false))
+            test.fail("Recipe did not survive the round trip.");
+
+        if (buf.isReadable())
+            test.fail("Decoding left " + buf.readableBytes() + " unread bytes.");
+
+        test.succeed();
+    }
+
+    @GameTest(template = GameTestTemplates.EMPTY)
+    public static void sync_data_without_recipe_round_trips(final GameTestHelper test) {
+        final RecipeManager recipes = test.getLevel().getRecipeManager();
+        final MiniaturizationField field = MiniaturizationField.fromSizeAndCenter(MiniaturizationFieldSize.ABSURD, new BlockPos(5, -40, -5));
+
+        final FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        FieldSyncData.of(field, recipes).write(buf);
+
+        final FieldSyncData read = FieldSyncData.read(buf);
+        if (!read.getCenter().equals(field.getCenter()) || read.getSize() != MiniaturizationFieldSize.ABSURD)
+            test.fail("Field position or size did not survive the round trip.");
+
+        if (read.getRecipe(recipes) != null)
+            test.fail("Field without a recipe should not decode with one.");
+
+        if (buf.isReadable())
+            test.fail("Decoding left " + buf.readableBytes() + " unread bytes.");
+
+        test.succeed();
+    }
+
+    @GameTest(template = GameTestTemplates.EMPTY)
+    public static void simple_packets_round_trip(final GameTestHelper test) {
+        final FriendlyByteBuf first = new FriendlyByteBuf(Unpooled.buffer());
+        final FriendlyByteBuf second = new FriendlyByteBuf(Unpooled.buffer());
+
+        FieldDeactivatedPacket.encode(new FieldDeactivatedPacket(MiniaturizationFieldSize.LARGE, new BlockPos(1, 2, 3)), first);
+        FieldDeactivatedPacket.encode(new FieldDeactivatedPacket(first.copy()), second);
+        if (!first.equals(second))
+            test.fail("Field deactivation packet changed after a round trip.");
+
+        first.clear();
+        second.clear();
+
+        final MiniaturizationField field = craftingField(test);
+        FieldRecipeChangedPacket.encode(new FieldRecipeChangedPacket(field, test.getLevel().getRecipeManager()), first);
+        FieldRecipeChangedPacket.encode(new FieldRecipeChangedPacket(first.copy()), second);
+        if (!first.equals(second))
+            test.fail("Recipe change packet changed after a round trip.");
+
+        first.clear();
+        second.clear();
+
+        FieldCraftingStartedPacket.encode(new FieldCraftingStartedPacket(field.getCenter(), test.getLevel().getGameTime(), 200), first);
+        FieldCraftingStartedPacket.encode(new FieldCraftingStartedPacket(first.copy()), second);
+        if (!first.equals(second))
+            test.fail("Crafting start packet changed after a round trip.");
+
+        test.succeed();
+    }
+
+    @GameTest(template = GameTestTemplates.EMPTY)
+    public static void watch_queue_cancels_pairs(final GameTestHelper test) {
+        final RecipeManager recipes = test.getLevel().getRecipeManager();
+        final MiniaturizationField kept = craftingField(test);
+        final MiniaturizationField cancelled = MiniaturizationField.fromSizeAndCenter(MiniaturizationFieldSize.SMALL, new BlockPos(40, 64, 40));
+        final BlockPos gone = new BlockPos(-300, 70, 12);
+        final BlockPos returned = new BlockPos(8, 90, 8);
+
+        final FieldWatchQueue queue = new FieldWatchQueue();
+        queue.watch(kept);
+        queue.watch(kept);
+        queue.watch(cancelled);
+        queue.unwatch(cancelled.getCenter());
+        queue.unwatch(gone);
+        queue.unwatch(returned);
+        queue.watch(MiniaturizationField.fromSizeAndCenter(MiniaturizationFieldSize.TINY, returned));
+
+        final FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        FieldWatchBundlePacket.encode(queue.toPacket(recipes), buf);
+        final FieldWatchBundlePacket read = new FieldWatchBundlePacket(buf);
+
+        if (read.getWatched().size() != 1 || !read.getWatched().get(0).getCenter().equals(kept.getCenter()))
+            test.fail("Expected only the field watched twice to be sent; got " + read.getWatched().size() + " watched fields.");
+
+        if (read.getUnwatched().length != 1 || read.getUnwatched()[0] != gone.asLong())
+            test.fail("Expected only the unwatched field without a matching watch to be sent.");
+
+        if (buf.isReadable())
+            test.fail("Decoding left " + buf.readableBytes() + " unread bytes.");
+
+        test.succeed();
+    }
+}
@@ -0,0 +1,61 @@
+package dev.compactmods.crafting.tests.recipes;
+
+import java.util.List;
+import dev.compactmods.crafting.CompactCrafting;
+import dev.compactmods.crafting.api.field.MiniaturizationFieldSize;
+import dev.compactmods.crafting.field.FieldSnapshot;
+import dev.compactmods.crafting.recipes.MiniaturizationRecipe;
+import dev.compactmods.crafting.recipes.MiniaturizationRecipeIndex;
+import dev.compactmods.crafting.tests.recipes.util.RecipeTestUtil;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+@PrefixGameTestTemplate(false)
+@GameTestHolder(CompactCrafting.MOD_ID)
+public class MiniaturizationRecipeIndexTests {
+
+    private static final ResourceLocation ENDER_CRYSTAL = new ResourceLocation(CompactCrafting.MOD_ID, "ender_crystal");
+
+    private static List<MiniaturizationRecipe> getCandidates(final GameTestHelper test) {
+        final FieldSnapshot snapshot = FieldSnapshot.capture(test.getLevel(), RecipeTestUtil.getFieldBounds(MiniaturizationFieldSize.MEDIUM, test));
+        return MiniaturizationRecipeIndex.get(test.getLevel().getRecipeManager()).getCandidates(snapshot);
+    }
+
+    private static boolean hasEnderCrystal(List<MiniaturizationRecipe> candidates) {
+        return candidates.stream().anyMatch(r -> ENDER_CRYSTAL.equals(r.getRecipeIdentifier()));
+    }
+
+    @GameTest(template = "recipes/ender_crystal")
+    public static void IncludesMatchingRecipe(final GameTestHelper test) {
+        if (!hasEnderCrystal(getCandidates(test)))
+            test.fail("Expected the ender crystal recipe to be a candidate for its own structure.");
+
+        test.succeed();
+    }
+
+    @GameTest(template = "recipes/ender_crystal")
+    public static void ExcludesRecipeWithUnusableBlock(final GameTestHelper test) {
+        test.setBlock(new BlockPos(1, 3, 1), Blocks.GOLD_BLOCK.defaultBlockState());
+
+        if (hasEnderCrystal(getCandidates(test)))
+            test.fail("Gold isn't part of the ender crystal recipe; it should have been pruned.");
+
+        test.succeed();
+    }
+
+    @GameTest(template = "recipes/ender_crystal")
+    public static void ExcludesRecipeMissingComponents(final GameTestHelper test) {
+        // Same blocks and same size, but the obsidian center is gone
+        test.setBlock(new BlockPos(2, 3, 2), Blocks.AIR.defaultBlockState());
+
+        if (hasEnderCrystal(getCandidates(test)))
+            test.fail("Field is missing the obsidian the recipe requires; it should have been pruned.");
+
+        test.succeed();
+    }
+}
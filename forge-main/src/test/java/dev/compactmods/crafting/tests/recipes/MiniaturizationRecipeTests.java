@@ -6,15 +6,19 @@ import dev.compactmods.crafting.api.recipe.layers.IRecipeBlocks;
 import dev.compactmods.crafting.api.recipe.layers.IRecipeLayer;
 import dev.compactmods.crafting.core.CCMiniaturizationRecipes;
 import dev.compactmods.crafting.recipes.MiniaturizationRecipe;
+import dev.compactmods.crafting.recipes.MiniaturizationRecipeSerializer;
+import dev.compactmods.crafting.recipes.RecipeNetworkFormat;
 import dev.compactmods.crafting.recipes.blocks.RecipeBlocks;
 import dev.compactmods.crafting.recipes.setup.FakeInventory;
 import dev.compactmods.crafting.tests.GameTestTemplates;
 import dev.compactmods.crafting.tests.components.GameTestAssertions;
 import dev.compactmods.crafting.tests.recipes.util.RecipeTestUtil;
 import dev.compactmods.crafting.util.BlockSpaceUtil;
+import io.netty.buffer.Unpooled;
 import net.minecraft.core.BlockPos;
 import net.minecraft.gametest.framework.GameTest;
 import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.block.Blocks;
@@ -23,6 +27,8 @@ import net.minecraftforge.gametest.GameTestHolder;
 import net.minecraftforge.gametest.PrefixGameTestTemplate;
 
 import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -243,4 +249,44 @@ public class MiniaturizationRecipeTests {
 
         test.succeed();
     }
+
+    @GameTest(template = GameTestTemplates.EMPTY)
+    public static void NetworkFormatRoundTrips(final GameTestHelper test) {
+        final List<MiniaturizationRecipe> recipes = test.getLevel().getRecipeManager()
+                .getAllRecipesFor(CCMiniaturizationRecipes.MINIATURIZATION_RECIPE.get());
+
+        if (recipes.isEmpty())
+            test.fail("Expected miniaturization recipes to be loaded.");
+
+        final MiniaturizationRecipeSerializer serializer = new MiniaturizationRecipeSerializer();
+        for (MiniaturizationRecipe recipe : recipes) {
+            final ResourceLocation id = recipe.getRecipeIdentifier();
+
+            final FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+            serializer.toNetwork(buf, recipe);
+            final int compactSize = buf.readableBytes();
+
+            final MiniaturizationRecipe read = serializer.fromNetwork(id, buf);
+            if (read == null) {
+                test.fail("Recipe failed to read back from the network: " + id);
+                return;
+            }
+
+            if (buf.isReadable())
+                test.fail("Recipe left " + buf.readableBytes() + " unread bytes: " + id);
+
+            if (!Arrays.equals(RecipeNetworkFormat.encode(recipe), RecipeNetworkFormat.encode(read)))
+                test.fail("Recipe encoded differently after a round trip: " + id);
+
+            if (read.getCraftingTime() != recipe.getCraftingTime() || !read.getDimensions().equals(recipe.getDimensions()))
+                test.fail("Recipe time or dimensions changed after a round trip: " + id);
+
+            final FriendlyByteBuf codecBuf = new FriendlyByteBuf(Unpooled.buffer());
+            codecBuf.writeWithCodec(MiniaturizationRecipe.CODEC, recipe);
+            if (compactSize >= codecBuf.readableBytes())
+                test.fail("Expected the network format to be smaller than the codec NBT for " + id + "; got " + compactSize + " vs " + codecBuf.readableBytes());
+        }
+
+        test.succeed();
+    }
 }
@@ -133,4 +133,28 @@ public class CCRecipeComponentsTests {
 
         test.succeed();
     }
+
+    @GameTest(template = GameTestTemplates.EMPTY)
+    public static void key_lookup_follows_registration_changes(final GameTestHelper test) {
+        MiniaturizationRecipeComponents components = new MiniaturizationRecipeComponents();
+
+        // Looked up (and remembered) before anything can match it
+        if (components.getKey(Blocks.GOLD_BLOCK.defaultBlockState()).isPresent())
+            test.fail("Expected no key before the component was registered.");
+
+        components.registerBlock("G", new BlockComponent(Blocks.GOLD_BLOCK));
+        if (!components.getKey(Blocks.GOLD_BLOCK.defaultBlockState()).equals(Optional.of("G")))
+            test.fail("Expected the gold block to map to 'G' after registration.");
+
+        components.unregisterBlock("G");
+        if (components.getKey(Blocks.GOLD_BLOCK.defaultBlockState()).isPresent())
+            test.fail("Expected no key after the component was unregistered.");
+
+        components.registerBlock("G", new BlockComponent(Blocks.GOLD_BLOCK));
+        components.clear();
+        if (components.getKey(Blocks.GOLD_BLOCK.defaultBlockState()).isPresent())
+            test.fail("Expected no key after the components were cleared.");
+
+        test.succeed();
+    }
 }
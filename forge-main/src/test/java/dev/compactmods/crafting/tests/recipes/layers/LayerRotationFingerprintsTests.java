@@ -0,0 +1,144 @@
+package dev.compactmods.crafting.tests.recipes.layers;
+
+import java.util.EnumSet;
+import dev.compactmods.crafting.CompactCrafting;
+import dev.compactmods.crafting.api.field.MiniaturizationFieldSize;
+import dev.compactmods.crafting.api.recipe.layers.IRecipeBlocks;
+import dev.compactmods.crafting.api.recipe.layers.IRecipeLayer;
+import dev.compactmods.crafting.recipes.MiniaturizationRecipe;
+import dev.compactmods.crafting.recipes.blocks.ComponentPositionLookup;
+import dev.compactmods.crafting.recipes.blocks.RecipeBlocks;
+import dev.compactmods.crafting.recipes.components.BlockComponent;
+import dev.compactmods.crafting.recipes.components.MiniaturizationRecipeComponents;
+import dev.compactmods.crafting.recipes.layers.LayerRotationFingerprints;
+import dev.compactmods.crafting.recipes.layers.MixedComponentRecipeLayer;
+import dev.compactmods.crafting.recipes.layers.RecipeLayerUtil;
+import dev.compactmods.crafting.tests.recipes.util.RecipeTestUtil;
+import dev.compactmods.crafting.util.BlockSpaceUtil;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.Rotation;
+import net.minecraft.world.phys.AABB;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+@PrefixGameTestTemplate(false)
+@GameTestHolder(CompactCrafting.MOD_ID)
+public class LayerRotationFingerprintsTests {
+
+    private static void assertSameRotationsAsLegacy(final GameTestHelper test, EnumSet<Rotation> expectedRotations) {
+        final MiniaturizationRecipe recipe = RecipeTestUtil.getRecipeByName(test, "ender_crystal").orElseThrow();
+        final IRecipeLayer layer = recipe.getLayer(2).orElseThrow();
+        if (!(layer instanceof MixedComponentRecipeLayer mixed)) {
+            test.fail("Expected the center ender crystal layer to be a mixed layer.");
+            return;
+        }
+
+        final LayerRotationFingerprints fingerprints = LayerRotationFingerprints.compile(mixed, recipe.getDimensions());
+        if (fingerprints == null) {
+            test.fail("Expected fingerprints to compile for a square recipe.");
+            return;
+        }
+
+        final AABB fieldBounds = RecipeTestUtil.getFieldBounds(MiniaturizationFieldSize.MEDIUM, test);
+        final IRecipeBlocks layerBlocks = RecipeBlocks.create(test.getLevel(), recipe.getComponents(), fieldBounds)
+                .slice(BlockSpaceUtil.getLayerBounds(fieldBounds, 2))
+                .normalize();
+
+        final EnumSet<Rotation> legacy = EnumSet.noneOf(Rotation.class);
+        for (Rotation rotation : Rotation.values()) {
+            if (layer.matches(recipe.getComponents(), RecipeLayerUtil.rotate(layerBlocks, rotation)))
+                legacy.add(rotation);
+        }
+
+        final EnumSet<Rotation> compiled = fingerprints.findMatchingRotations(layerBlocks);
+        if (!legacy.equals(compiled))
+            test.fail("Fingerprints matched " + compiled + " but rotating the blocks matched " + legacy);
+
+        if (!expectedRotations.equals(compiled))
+            test.fail("Expected rotations " + expectedRotations + "; got " + compiled);
+
+        test.succeed();
+    }
+
+    @GameTest(template = "recipes/ender_crystal")
+    public static void MatchesAllRotationsOfSymmetricPattern(final GameTestHelper test) {
+        assertSameRotationsAsLegacy(test, EnumSet.allOf(Rotation.class));
+    }
+
+    @GameTest(template = "recipes/ender_crystal")
+    public static void FailsAllRotationsWhenComponentMoved(final GameTestHelper test) {
+        // Swap an edge of the pattern from glass to obsidian; no rotation of the pattern has it there
+        test.setBlock(new BlockPos(0, 3, 2), Blocks.OBSIDIAN.defaultBlockState());
+        assertSameRotationsAsLegacy(test, EnumSet.noneOf(Rotation.class));
+    }
+
+    @GameTest(template = "recipes/ender_crystal")
+    public static void FailsAllRotationsWhenUnidentified(final GameTestHelper test) {
+        test.setBlock(new BlockPos(1, 3, 1), Blocks.GOLD_BLOCK.defaultBlockState());
+        assertSameRotationsAsLegacy(test, EnumSet.noneOf(Rotation.class));
+    }
+
+    @GameTest(template = "empty_medium")
+    public static void MatchesOneRotationPerPlacementOfAsymmetricPattern(final GameTestHelper test) {
+        final MiniaturizationRecipeComponents components = new MiniaturizationRecipeComponents();
+        components.registerBlock("G", new BlockComponent(Blocks.GLASS));
+        components.registerBlock("O", new BlockComponent(Blocks.OBSIDIAN));
+
+        // Glass everywhere but one edge; no rotation of the pattern maps onto itself
+        final String[][] pattern = {
+                {"G", "O", "G"},
+                {"G", "G", "G"},
+                {"G", "G", "G"}
+        };
+
+        final MixedComponentRecipeLayer layer = new MixedComponentRecipeLayer(ComponentPositionLookup.fromPattern(pattern));
+        final LayerRotationFingerprints fingerprints = LayerRotationFingerprints.compile(layer, new AABB(0, 0, 0, 3, 1, 3));
+        if (fingerprints == null) {
+            test.fail("Expected fingerprints to compile for a square layer.");
+            return;
+        }
+
+        final BlockPos origin = new BlockPos(1, 1, 1);
+        final BlockPos center = origin.offset(1, 0, 1);
+        final BlockPos absoluteOrigin = test.absolutePos(origin);
+        final AABB layerBounds = new AABB(absoluteOrigin, absoluteOrigin.offset(3, 1, 3));
+
+        final EnumSet<Rotation> matchedAcrossPlacements = EnumSet.noneOf(Rotation.class);
+        for (Rotation placement : Rotation.values()) {
+            final BlockPos obsidian = center.offset(new BlockPos(-1, 0, 0).rotate(placement));
+            BlockPos.betweenClosed(origin, origin.offset(2, 0, 2)).forEach(pos -> test.setBlock(pos, pos.equals(obsidian)
+                    ? Blocks.OBSIDIAN.defaultBlockState()
+                    : Blocks.GLASS.defaultBlockState()));
+
+            final IRecipeBlocks layerBlocks = RecipeBlocks.create(test.getLevel(), components, layerBounds).normalize();
+
+            final EnumSet<Rotation> legacy = EnumSet.noneOf(Rotation.class);
+            for (Rotation rotation : Rotation.values()) {
+                if (layer.matches(components, RecipeLayerUtil.rotate(layerBlocks, rotation)))
+                    legacy.add(rotation);
+            }
+
+            final EnumSet<Rotation> compiled = fingerprints.findMatchingRotations(layerBlocks);
+            if (!legacy.equals(compiled)) {
+                test.fail("Placed with " + placement + ": fingerprints matched " + compiled + " but rotating the blocks matched " + legacy);
+                return;
+            }
+
+            if (legacy.size() != 1) {
+                test.fail("Placed with " + placement + ": expected exactly one matching rotation; got " + legacy);
+                return;
+            }
+
+            matchedAcrossPlacements.addAll(legacy);
+        }
+
+        // Each placement of an asymmetric pattern is undone by a different rotation
+        if (!matchedAcrossPlacements.equals(EnumSet.allOf(Rotation.class)))
+            test.fail("Expected the four placements to match four different rotations; got " + matchedAcrossPlacements);
+
+        test.succeed();
+    }
+}
@@ -0,0 +1,98 @@
+package dev.compactmods.crafting.tests.recipes.layers;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import dev.compactmods.crafting.CompactCrafting;
+import dev.compactmods.crafting.api.components.IRecipeComponents;
+import dev.compactmods.crafting.api.field.MiniaturizationFieldSize;
+import dev.compactmods.crafting.api.recipe.layers.IRecipeBlocks;
+import dev.compactmods.crafting.field.FieldSnapshot;
+import dev.compactmods.crafting.recipes.blocks.RecipeBlocks;
+import dev.compactmods.crafting.recipes.blocks.VoxelRecipeBlocks;
+import dev.compactmods.crafting.recipes.layers.RecipeLayerUtil;
+import dev.compactmods.crafting.tests.recipes.util.RecipeTestUtil;
+import dev.compactmods.crafting.util.BlockSpaceUtil;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.Rotation;
+import net.minecraft.world.phys.AABB;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+@PrefixGameTestTemplate(false)
+@GameTestHolder(CompactCrafting.MOD_ID)
+public class VoxelRecipeBlocksTests {
+
+    @GameTest(template = "recipes/ender_crystal")
+    public static void MatchesRecipeBlocksForAllLayersAndRotations(final GameTestHelper test) {
+        final IRecipeComponents components = RecipeTestUtil.getComponentsFromRecipe(test, "ender_crystal").orElseThrow();
+
+        // Asymmetric (and unknown) marker so a wrong rotation can't line up by accident
+        test.setBlock(new BlockPos(0, 2, 0), Blocks.GOLD_BLOCK.defaultBlockState());
+
+        final AABB fieldBounds = RecipeTestUtil.getFieldBounds(MiniaturizationFieldSize.MEDIUM, test);
+        final FieldSnapshot snapshot = FieldSnapshot.capture(test.getLevel(), fieldBounds);
+
+        final IRecipeBlocks legacy = RecipeBlocks.create(test.getLevel(), components, fieldBounds);
+        final IRecipeBlocks voxels = VoxelRecipeBlocks.create(snapshot, components, fieldBounds);
+
+        for (int y = 0; y < 5; y++) {
+            final AABB layerBounds = BlockSpaceUtil.getLayerBounds(fieldBounds, y);
+            final IRecipeBlocks legacyLayer = legacy.slice(layerBounds).normalize();
+            final IRecipeBlocks voxelLayer = voxels.slice(layerBounds).normalize();
+
+            for (Rotation rotation : Rotation.values()) {
+                final IRecipeBlocks expected = RecipeLayerUtil.rotate(legacyLayer, rotation);
+                final IRecipeBlocks actual = RecipeLayerUtil.rotate(voxelLayer, rotation);
+
+                if (expected.allIdentified() != actual.allIdentified())
+                    test.fail("Identification differs on layer " + y + " rotated " + rotation);
+
+                final Set<BlockPos> expectedUnmapped = expected.getUnmappedPositions()
+                        .map(BlockPos::immutable)
+                        .collect(Collectors.toSet());
+
+                final Set<BlockPos> actualUnmapped = actual.getUnmappedPositions()
+                        .map(BlockPos::immutable)
+                        .collect(Collectors.toSet());
+
+                if (!expectedUnmapped.equals(actualUnmapped))
+                    test.fail("Unidentified positions differ on layer " + y + " rotated " + rotation);
+
+                if (!expected.getKnownComponentTotals().equals(actual.getKnownComponentTotals()))
+                    test.fail("Component totals differ on layer " + y + " rotated " + rotation);
+
+                for (String key : expected.getKnownComponentTotals().keySet()) {
+                    final Set<BlockPos> expectedPositions = expected.getPositionsForComponent(key)
+                            .map(BlockPos::immutable)
+                            .collect(Collectors.toSet());
+
+                    final Set<BlockPos> actualPositions = actual.getPositionsForComponent(key)
+                            .map(BlockPos::immutable)
+                            .collect(Collectors.toSet());
+
+                    if (!expectedPositions.equals(actualPositions))
+                        test.fail("Positions for component " + key + " differ on layer " + y + " rotated " + rotation);
+                }
+            }
+        }
+
+        test.succeed();
+    }
+
+    @GameTest(template = "recipes/ender_crystal")
+    public static void RotationCreatesNewInstance(final GameTestHelper test) {
+        final IRecipeComponents components = RecipeTestUtil.getComponentsFromRecipe(test, "ender_crystal").orElseThrow();
+
+        final AABB fieldBounds = RecipeTestUtil.getFieldBounds(MiniaturizationFieldSize.MEDIUM, test);
+        final FieldSnapshot snapshot = FieldSnapshot.capture(test.getLevel(), fieldBounds);
+        final IRecipeBlocks blocks = VoxelRecipeBlocks.create(snapshot, components, fieldBounds);
+
+        if (blocks == RecipeLayerUtil.rotate(blocks, Rotation.NONE))
+            test.fail("Rotation method did not create new instance.");
+
+        test.succeed();
+    }
+}
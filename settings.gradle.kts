@@ -8,6 +8,7 @@ pluginManagement {
     repositories {
         mavenCentral()
         mavenLocal()
+        gradlePluginPortal()
 
         maven("https://maven.parchmentmc.org") {
             name = "ParchmentMC"
@@ -28,4 +29,4 @@ pluginManagement {
 }
 
 rootProject.name = "Compact Crafting"
-include("forge-api", "forge-main")
\ No newline at end of file
+include("forge-api", "forge-main", "forge-bench")
\ No newline at end of file